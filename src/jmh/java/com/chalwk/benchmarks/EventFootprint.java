@@ -0,0 +1,68 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.benchmarks;
+
+import com.chalwk.file.EventLineParser;
+import com.chalwk.model.RawEvent;
+import com.chalwk.tools.EventCorpus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * Retained heap per parsed event, typed records against the HashMap form, overall and per event type. JMH's GC
+ * profiler covers allocation; this covers what stays alive while events sit in the event log or a send queue.
+ * Usage: java -cp target/benchmarks.jar com.chalwk.benchmarks.EventFootprint [events]
+ */
+public class EventFootprint {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        System.out.printf("%-20s %12s %12s%n", "events", "typed (B)", "map (B)");
+        print("mixed", new EventCorpus(42).lines(count, 1_760_000_000L));
+        for (String type : EventCorpus.DEFAULT_MIX.keySet()) {
+            Map<String, Integer> mix = new HashMap<>();
+            mix.put(type, 1);
+            print(type, new EventCorpus(42, mix).lines(count, 1_760_000_000L));
+        }
+    }
+
+    private static void print(String label, List<String> lines) throws InterruptedException {
+        long typed = retainedPerEvent(lines, EventLineParser::parseEventLine);
+        long map = retainedPerEvent(lines, EventLineParser::parseEventLineAsMap);
+        System.out.printf("%-20s %12d %12d%n", label, typed, map);
+    }
+
+    private static long retainedPerEvent(List<String> lines, Function<String, RawEvent> parser)
+            throws InterruptedException {
+        RawEvent[] events = new RawEvent[lines.size()];
+        long before = usedAfterGc();
+        for (int i = 0; i < events.length; i++) {
+            events[i] = parser.apply(lines.get(i));
+        }
+        long after = usedAfterGc();
+        long perEvent = (after - before) / events.length;
+        if (events[events.length - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return perEvent;
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+            lowest = Math.min(lowest, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return lowest;
+    }
+}
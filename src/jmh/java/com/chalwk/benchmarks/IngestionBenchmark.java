@@ -0,0 +1,82 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.benchmarks;
+
+import com.chalwk.file.EventLineParser;
+import com.chalwk.model.RawEvent;
+import com.chalwk.tools.EventCorpus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestionBenchmark {
+
+    private static final int CORPUS_SIZE = 4096;
+
+    private String[] lines;
+    private String[] values;
+    private RawEvent[] events;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        List<String> corpus = new EventCorpus(42).lines(CORPUS_SIZE, 1_760_000_000L);
+        lines = corpus.toArray(new String[0]);
+        values = new String[CORPUS_SIZE];
+        events = new RawEvent[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            String[] parts = lines[i].split("\\|");
+            String last = parts[parts.length - 1];
+            values[i] = last.substring(last.indexOf('=') + 1);
+            events[i] = EventLineParser.parseEventLine(lines[i]);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (CORPUS_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public RawEvent parseEventLine() {
+        return EventLineParser.parseEventLine(lines[next()]);
+    }
+
+    // The HashMap form every event used before typed records
+    @Benchmark
+    public RawEvent parseEventLineAsMap() {
+        return EventLineParser.parseEventLineAsMap(lines[next()]);
+    }
+
+    @Benchmark
+    public String unescapeValue() {
+        return EventLineParser.unescapeValue(values[next()]);
+    }
+
+    @Benchmark
+    public String generateEventHash() {
+        return EventLineParser.generateEventHash(events[next()]);
+    }
+
+    // What the watcher does for every line it reads
+    @Benchmark
+    public String parseAndHash() {
+        return EventLineParser.generateEventHash(EventLineParser.parseEventLine(lines[next()]));
+    }
+
+    @Benchmark
+    public String parseAndHashAsMap() {
+        return EventLineParser.generateEventHash(EventLineParser.parseEventLineAsMap(lines[next()]));
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.benchmarks;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.EventLineParser;
+import com.chalwk.model.RawEvent;
+import com.chalwk.output.OutputSink;
+import com.chalwk.tools.EventCorpus;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessRawEventBenchmark {
+
+    private static final int CORPUS_SIZE = 4096;
+
+    private EventProcessor processor;
+    private OutputSink sink;
+    private RawEvent[] events;
+    private int index;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        ConfigManager configManager = new ConfigManager(new AppConfig());
+        AppConfig config = configManager.getConfig();
+        // Score events would otherwise be coalesced into live messages instead of rendered and sent
+        config.getEventConfigs().values().forEach(eventConfig -> eventConfig.setLiveMessage(false));
+        config.getChannels().put("GENERAL", "100000000000000001");
+        config.getChannels().put("CHAT", "100000000000000002");
+        config.getChannels().put("COMMAND", "100000000000000003");
+
+        processor = new EventProcessor(configManager);
+        sink = new BlackholeSink(blackhole);
+
+        List<String> corpus = new EventCorpus(42).lines(CORPUS_SIZE, 1_760_000_000L);
+        events = new RawEvent[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            events[i] = EventLineParser.parseEventLine(corpus.get(i));
+        }
+    }
+
+    @Benchmark
+    public void processRawEvent() {
+        index = (index + 1) & (CORPUS_SIZE - 1);
+        processor.processRawEvent(events[index], sink, "bench");
+    }
+
+    // Like NullSink, but the output is consumed so the JIT cannot drop the rendering that produced it
+    private static class BlackholeSink implements OutputSink {
+        private final Blackhole blackhole;
+
+        BlackholeSink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void sendMessage(String channelId, String message, Runnable onDelivered) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+            blackhole.consume(embed);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.benchmarks;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.discord.TemplateProcessor;
+import com.chalwk.file.EventLineParser;
+import com.chalwk.tools.EventCorpus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+
+    // Every default template in AppConfig
+    @Param({"event_start", "event_end", "event_join", "event_leave", "event_spawn", "event_team_switch",
+            "event_map_reset", "event_login", "event_snap", "event_score_1", "event_score_2", "event_score_3",
+            "event_score_4", "event_score_5", "event_death_1", "event_death_2", "event_death_3", "event_death_4",
+            "event_death_5", "event_death_6", "event_death_7", "event_death_8", "event_death_9", "event_death_10",
+            "event_chat", "event_command"})
+    public String eventKey;
+
+    private String template;
+    private Map<String, Object> data;
+    private Map<String, Object> mapData;
+
+    @Setup
+    public void setUp() {
+        template = new AppConfig().getEventConfigs().get(eventKey).getTemplate();
+        if (template == null) {
+            throw new IllegalStateException("No default template for " + eventKey);
+        }
+
+        // Take the fields of a generated line of the matching type
+        String eventType = eventKey.replaceFirst("_\\d+$", "");
+        Map<String, Integer> mix = new HashMap<>();
+        mix.put(eventType, 1);
+        String line = new EventCorpus(7, mix).nextLine(1_760_000_000L);
+        data = EventLineParser.parseEventLine(line).getData();
+        mapData = EventLineParser.parseEventLineAsMap(line).getData();
+    }
+
+    @Benchmark
+    public String processTemplate() {
+        return TemplateProcessor.processTemplate(template, data);
+    }
+
+    @Benchmark
+    public String processTemplateAsMap() {
+        return TemplateProcessor.processTemplate(template, mapData);
+    }
+}
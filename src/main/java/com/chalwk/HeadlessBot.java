@@ -0,0 +1,148 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk;
+
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.DiscordBot;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.FileWatcher;
+import com.chalwk.jfr.FlightRecorderControl;
+import com.chalwk.metrics.MetricsServer;
+import com.chalwk.net.ForwardingReceiver;
+import com.chalwk.net.SocketListener;
+import com.chalwk.util.ProcessStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+// Entry point for servers without a display. Must not reference any AWT or Swing class.
+public class HeadlessBot {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessBot.class);
+
+    private final ConfigManager configManager;
+    private DiscordBot discordBot;
+    private EventProcessor eventProcessor;
+    private FileWatcher fileWatcher;
+    private SocketListener socketListener;
+    private ForwardingReceiver forwardingReceiver;
+
+    public HeadlessBot(ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        Path recordingFile = recordingFile(args);
+        if (recordingFile != null) {
+            try {
+                FlightRecorderControl.start(recordingFile);
+            } catch (Exception e) {
+                logger.error("Could not start flight recording", e);
+            }
+        }
+
+        ConfigManager configManager = new ConfigManager();
+        MetricsServer metricsServer = MetricsServer.startIfEnabled(configManager.getConfig());
+
+        HeadlessBot bot = new HeadlessBot(configManager);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            bot.stop();
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+        }, "headless-shutdown"));
+
+        if (!bot.start()) {
+            logger.error("Headless bot failed to start");
+            System.exit(1);
+        }
+    }
+
+    // --jfr=<file> records from launch and writes the recording when the process exits
+    private static Path recordingFile(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--jfr=")) {
+                return Path.of(arg.substring("--jfr=".length()));
+            }
+        }
+        return null;
+    }
+
+    public boolean start() {
+        boolean shadowMode = configManager.getConfig().isShadowMode();
+        String token = configManager.getConfig().getDiscordToken();
+        if (!shadowMode && (token == null || token.trim().isEmpty())) {
+            logger.error("Discord bot token is not configured. Set discordToken in sapp_bot_config.json");
+            return false;
+        }
+
+        synchronized (this) {
+            eventProcessor = new EventProcessor(configManager);
+            discordBot = new DiscordBot(configManager);
+            // Buffering before any source starts, so nothing read ahead of the login is dropped
+            if (!shadowMode) {
+                discordBot.beginStarting();
+            }
+            fileWatcher = new FileWatcher(configManager, discordBot, eventProcessor);
+            fileWatcher.startWatching();
+            if (configManager.getConfig().isSocketEnabled()) {
+                socketListener = new SocketListener(configManager, discordBot, eventProcessor);
+                socketListener.startListening();
+            }
+            if (configManager.getConfig().isForwardingEnabled()) {
+                forwardingReceiver = new ForwardingReceiver(configManager, discordBot, eventProcessor);
+                forwardingReceiver.startListening();
+            }
+        }
+        logger.info("Headless file watcher ready ({})", ProcessStats.describe());
+
+        // Every Discord route is diverted to the shadow sink, so there is no need to log in
+        if (shadowMode) {
+            logger.info("Shadow mode is on: events are rendered and counted but nothing is sent to Discord");
+            return true;
+        }
+
+        if (!discordBot.start()) {
+            stop();
+            return false;
+        }
+
+        logger.info("Headless SAPP Discord Bot started ({})", ProcessStats.describe());
+        return true;
+    }
+
+    public synchronized void stop() {
+        if (fileWatcher != null) {
+            fileWatcher.stopWatching();
+            fileWatcher = null;
+        }
+
+        if (socketListener != null) {
+            socketListener.stopListening();
+            socketListener = null;
+        }
+
+        if (forwardingReceiver != null) {
+            forwardingReceiver.stopListening();
+            forwardingReceiver = null;
+        }
+
+        if (eventProcessor != null) {
+            eventProcessor.close();
+            eventProcessor = null;
+        }
+
+        if (discordBot != null) {
+            discordBot.stop();
+            discordBot = null;
+            logger.info("Headless SAPP Discord Bot stopped");
+        }
+    }
+}
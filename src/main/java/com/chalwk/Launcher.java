@@ -0,0 +1,21 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk;
+
+// Kept free of GUI references so that --headless never pulls Swing classes in through bytecode verification
+public class Launcher {
+
+    public static void main(String[] args) {
+        for (String arg : args) {
+            if ("--headless".equals(arg)) {
+                HeadlessBot.main(args);
+                return;
+            }
+        }
+        SAPPDiscordBot.main(args);
+    }
+}
@@ -12,20 +12,36 @@ import com.chalwk.discord.EventProcessor;
 import com.chalwk.file.FileWatcher;
 import com.chalwk.gui.MainFrame;
 import com.chalwk.gui.TrayManager;
+import com.chalwk.metrics.MetricsServer;
+import com.chalwk.net.ForwardingReceiver;
+import com.chalwk.net.SocketListener;
+import com.chalwk.util.ProcessStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SAPPDiscordBot {
 
     private static final Logger logger = LoggerFactory.getLogger(SAPPDiscordBot.class);
+    private static final ExecutorService startupExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bot-startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static ConfigManager configManager;
-    private static DiscordBot discordBot;
-    private static FileWatcher fileWatcher;
-    private static MainFrame mainFrame;
-    private static TrayManager trayManager;
-    private static EventProcessor eventProcessor;
+    private static volatile DiscordBot discordBot;
+    private static volatile FileWatcher fileWatcher;
+    private static volatile SocketListener socketListener;
+    private static volatile ForwardingReceiver forwardingReceiver;
+    private static volatile MainFrame mainFrame;
+    private static volatile TrayManager trayManager;
+    private static volatile EventProcessor eventProcessor;
+    // Set while the pipeline runs in shadow mode, where the Discord bot never logs in
+    private static volatile boolean shadowRunning;
 
     public static void main(String[] args) {
         try {
@@ -35,64 +51,153 @@ public class SAPPDiscordBot {
         }
 
         configManager = new ConfigManager();
+        MetricsServer metricsServer = MetricsServer.startIfEnabled(configManager.getConfig());
+        if (metricsServer != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(metricsServer::stop, "metrics-shutdown"));
+        }
+
+        // Discord login and file watching start straight away instead of waiting for the GUI
+        if (configManager.getConfig().isAutoStart()) {
+            startBot();
+        }
 
         SwingUtilities.invokeLater(() -> {
             mainFrame = new MainFrame(configManager);
             trayManager = new TrayManager(mainFrame);
-
-            if (configManager.getConfig().isAutoStart()) {
-                startBot();
-            }
+            mainFrame.updateStatus(isBotRunning());
+            logger.info("GUI ready ({})", ProcessStats.describe());
         });
     }
 
-    public static void startBot() {
+    public static synchronized void startBot() {
+        if (shadowRunning || (discordBot != null && (discordBot.isRunning() || discordBot.isStarting()))) {
+            showMessage("Bot is already running!", "Info", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        DiscordBot bot = new DiscordBot(configManager);
+        // Buffering from now on, so nothing the sources below read before the login is dropped
+        if (!configManager.getConfig().isShadowMode()) {
+            bot.beginStarting();
+        }
+        discordBot = bot;
+        startupExecutor.execute(() -> startPipeline(bot));
+    }
+
+    private static void startPipeline(DiscordBot bot) {
         try {
-            if (discordBot != null && discordBot.isRunning()) {
-                JOptionPane.showMessageDialog(mainFrame, "Bot is already running!", "Info", JOptionPane.INFORMATION_MESSAGE);
-                return;
+            EventProcessor processor = new EventProcessor(configManager);
+            FileWatcher watcher = new FileWatcher(configManager, bot, processor);
+            FileWatcher.EventListener eventLog = (event, serverName) -> {
+                MainFrame frame = mainFrame;
+                if (frame != null) {
+                    frame.addEventLog(event, serverName, "Processed");
+                }
+            };
+            watcher.setEventListener(eventLog);
+            SocketListener listener = null;
+            if (configManager.getConfig().isSocketEnabled()) {
+                listener = new SocketListener(configManager, bot, processor);
+                listener.setEventListener(eventLog);
             }
-
-            discordBot = new DiscordBot(configManager);
-            if (!discordBot.start()) {
-                JOptionPane.showMessageDialog(mainFrame, "Failed to start Discord bot. Check your token and configuration.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
+            ForwardingReceiver receiver = null;
+            if (configManager.getConfig().isForwardingEnabled()) {
+                receiver = new ForwardingReceiver(configManager, bot, processor);
+                receiver.setEventListener(eventLog);
             }
 
-            eventProcessor = new EventProcessor(configManager);
+            // Started under the same lock stopBot() takes, so a stop either sees every source or none of them
+            synchronized (SAPPDiscordBot.class) {
+                if (discordBot != bot) {
+                    processor.close();
+                    return;
+                }
+                eventProcessor = processor;
+                fileWatcher = watcher;
+                socketListener = listener;
+                forwardingReceiver = receiver;
+
+                // Events read while the gateway handshake runs are buffered by the bot
+                watcher.startWatching();
+                if (listener != null) {
+                    listener.startListening();
+                }
+                if (receiver != null) {
+                    receiver.startListening();
+                }
+            }
 
-            fileWatcher = new FileWatcher(configManager, discordBot, eventProcessor);
-            fileWatcher.setEventListener((event, serverName) -> mainFrame.addEventLog(event, serverName, "Processed"));
-            fileWatcher.startWatching();
+            // Every Discord route is diverted to the shadow sink, so there is no need to log in
+            if (configManager.getConfig().isShadowMode()) {
+                synchronized (SAPPDiscordBot.class) {
+                    if (discordBot != bot) return;
+                    shadowRunning = true;
+                }
+                logger.info("Shadow mode is on: events are rendered and counted but nothing is sent to Discord");
+            } else if (!bot.start()) {
+                synchronized (SAPPDiscordBot.class) {
+                    if (discordBot != bot) return;
+                    stopBot();
+                }
+                showMessage("Failed to start Discord bot. Check your token and configuration.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-            mainFrame.updateStatus(true);
+            MainFrame frame = mainFrame;
+            if (frame != null) {
+                frame.updateStatus(true);
+            }
             logger.info("SAPP Discord Bot started successfully");
 
-            trayManager.showTrayMessage("SAPP Discord Bot started successfully");
+            TrayManager tray = trayManager;
+            if (tray != null) {
+                tray.showTrayMessage("SAPP Discord Bot started successfully");
+            }
 
         } catch (Exception e) {
             logger.error("Failed to start bot", e);
-            JOptionPane.showMessageDialog(mainFrame, "Failed to start bot: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            // Whatever this attempt published is stopped with it; a newer attempt owns the fields otherwise
+            synchronized (SAPPDiscordBot.class) {
+                if (discordBot == bot) {
+                    stopBot();
+                } else {
+                    bot.stop();
+                }
+            }
+            showMessage("Failed to start bot: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    public static void stopBot() {
+    public static synchronized void stopBot() {
         try {
+            shadowRunning = false;
             if (fileWatcher != null) {
                 fileWatcher.stopWatching();
                 fileWatcher = null;
             }
 
-            if (discordBot != null) {
-                discordBot.stop();
-                discordBot = null;
+            if (socketListener != null) {
+                socketListener.stopListening();
+                socketListener = null;
+            }
+
+            if (forwardingReceiver != null) {
+                forwardingReceiver.stopListening();
+                forwardingReceiver = null;
             }
 
+            // Before the bot stops, so pending live-message edits still reach Discord
             if (eventProcessor != null) {
                 eventProcessor.setEventListener(null);
+                eventProcessor.close();
                 eventProcessor = null;
             }
 
+            if (discordBot != null) {
+                discordBot.stop();
+                discordBot = null;
+            }
+
             if (mainFrame != null) {
                 mainFrame.updateStatus(false);
             }
@@ -109,6 +214,11 @@ public class SAPPDiscordBot {
     }
 
     public static boolean isBotRunning() {
-        return discordBot != null && discordBot.isRunning();
+        DiscordBot bot = discordBot;
+        return shadowRunning || (bot != null && bot.isRunning());
+    }
+
+    private static void showMessage(String message, String title, int messageType) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(mainFrame, message, title, messageType));
     }
-}
\ No newline at end of file
+}
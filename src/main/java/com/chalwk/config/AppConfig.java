@@ -6,17 +6,51 @@
 
 package com.chalwk.config;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AppConfig {
-    private final Map<String, String> channels = new HashMap<>();
+    // Written by the reader threads as new servers appear, so these two are concurrent maps
+    private final Map<String, String> channels = new ConcurrentHashMap<>();
     private final Map<String, EventConfig> eventConfigs = new HashMap<>();
-    private final Map<String, Map<String, EventConfig>> serverEventConfigs = new HashMap<>();
+    private final Map<String, Map<String, EventConfig>> serverEventConfigs = new ConcurrentHashMap<>();
+    private final Map<String, String> webhookUrls = new HashMap<>();
+    private final Map<String, Integer> socketServerPorts = new HashMap<>();
+    private final Map<String, String> forwardingServerPrefixes = new HashMap<>();
+    private final List<WatchRoot> watchRoots = new ArrayList<>();
     private String discordToken = "";
     private String watchDirectory = "./discord_events";
     private int pollInterval = 1000;
+    private int minPollInterval = 100;
+    private int maxPollInterval = 3000;
+    private int maxLinesPerTurn = 1000;
+    private long maxBytesPerTurn = 256 * 1024;
+    private boolean clearOnStartup = true;
+    private boolean catchUpEnabled = false;
+    private long catchUpBacklogBytes = 1024 * 1024;
+    private int catchUpEventAgeSeconds = 300;
+    private int catchUpThreads = 2;
+    private List<String> catchUpLiveEvents = new ArrayList<>(List.of("event_chat", "event_command"));
+    private int liveMessageIntervalSeconds = 10;
     private boolean autoStart = false;
+    private int eventLogCapacity = 10000;
+    private boolean metricsEnabled = false;
+    private String metricsBindAddress = "127.0.0.1";
+    private int metricsPort = 9464;
+    private boolean shadowMode = false;
+    private String outputFile = "sapp_events.ndjson";
+    private String restBaseUrl = "https://discord.com/api/v10";
+    private boolean socketEnabled = false;
+    private String socketBindAddress = "127.0.0.1";
+    private int socketPort = 9470;
+    private int maxRemoteServers = 32;
+    private boolean forwardingEnabled = false;
+    private String forwardingBindAddress = "127.0.0.1";
+    private int forwardingPort = 9480;
+    private String forwardingToken = "";
 
     public AppConfig() {
         initializeDefaults();
@@ -120,6 +154,11 @@ public class AppConfig {
                 "**⌘ Command** → `$name`: `$cmd`",
                 "green", true, "COMMAND"
         ));
+
+        // Score events keep one message per game up to date instead of posting every capture and lap
+        for (int i = 1; i <= 5; i++) {
+            eventConfigs.get("event_score_" + i).setLiveMessage(true);
+        }
     }
 
     public Map<String, String> getChannels() {
@@ -169,6 +208,12 @@ public class AppConfig {
         this.watchDirectory = watchDirectory;
     }
 
+    // Directories watched instead of watchDirectory when not empty
+    public List<WatchRoot> getWatchRoots() {
+        return watchRoots;
+    }
+
+    // How often watch directories are listed for new files
     public int getPollInterval() {
         return pollInterval;
     }
@@ -177,6 +222,100 @@ public class AppConfig {
         this.pollInterval = pollInterval;
     }
 
+    // Interval for a file that grew at its last check
+    public int getMinPollInterval() {
+        return minPollInterval;
+    }
+
+    public void setMinPollInterval(int minPollInterval) {
+        this.minPollInterval = minPollInterval;
+    }
+
+    // Longest an idle file waits between checks
+    public int getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    public void setMaxPollInterval(int maxPollInterval) {
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    // Most lines one file may have read before the next file gets its turn
+    public int getMaxLinesPerTurn() {
+        return maxLinesPerTurn;
+    }
+
+    public void setMaxLinesPerTurn(int maxLinesPerTurn) {
+        this.maxLinesPerTurn = maxLinesPerTurn;
+    }
+
+    public long getMaxBytesPerTurn() {
+        return maxBytesPerTurn;
+    }
+
+    public void setMaxBytesPerTurn(long maxBytesPerTurn) {
+        this.maxBytesPerTurn = maxBytesPerTurn;
+    }
+
+    public boolean isClearOnStartup() {
+        return clearOnStartup;
+    }
+
+    public void setClearOnStartup(boolean clearOnStartup) {
+        this.clearOnStartup = clearOnStartup;
+    }
+
+    // A file this far behind, or whose next event is this old, is caught up on in the background
+    public boolean isCatchUpEnabled() {
+        return catchUpEnabled;
+    }
+
+    public void setCatchUpEnabled(boolean catchUpEnabled) {
+        this.catchUpEnabled = catchUpEnabled;
+    }
+
+    public long getCatchUpBacklogBytes() {
+        return catchUpBacklogBytes;
+    }
+
+    public void setCatchUpBacklogBytes(long catchUpBacklogBytes) {
+        this.catchUpBacklogBytes = catchUpBacklogBytes;
+    }
+
+    public int getCatchUpEventAgeSeconds() {
+        return catchUpEventAgeSeconds;
+    }
+
+    public void setCatchUpEventAgeSeconds(int catchUpEventAgeSeconds) {
+        this.catchUpEventAgeSeconds = catchUpEventAgeSeconds;
+    }
+
+    public int getCatchUpThreads() {
+        return catchUpThreads;
+    }
+
+    public void setCatchUpThreads(int catchUpThreads) {
+        this.catchUpThreads = catchUpThreads;
+    }
+
+    // Event types still sent one by one during a catch-up; the rest go into a digest
+    public List<String> getCatchUpLiveEvents() {
+        return catchUpLiveEvents;
+    }
+
+    public void setCatchUpLiveEvents(List<String> catchUpLiveEvents) {
+        this.catchUpLiveEvents = catchUpLiveEvents;
+    }
+
+    // Shortest time between two edits of a live message; the final edit at event_end is not held back
+    public int getLiveMessageIntervalSeconds() {
+        return liveMessageIntervalSeconds;
+    }
+
+    public void setLiveMessageIntervalSeconds(int liveMessageIntervalSeconds) {
+        this.liveMessageIntervalSeconds = liveMessageIntervalSeconds;
+    }
+
     public boolean isAutoStart() {
         return autoStart;
     }
@@ -185,13 +324,149 @@ public class AppConfig {
         this.autoStart = autoStart;
     }
 
+    public int getEventLogCapacity() {
+        return eventLogCapacity;
+    }
+
+    public void setEventLogCapacity(int eventLogCapacity) {
+        this.eventLogCapacity = eventLogCapacity;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public String getMetricsBindAddress() {
+        return metricsBindAddress;
+    }
+
+    public void setMetricsBindAddress(String metricsBindAddress) {
+        this.metricsBindAddress = metricsBindAddress;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
     public void ensureServerChannels(String serverName) {
         String[] channelTypes = {"GENERAL", "CHAT", "COMMAND"};
         for (String channelType : channelTypes) {
             String serverChannelKey = serverName + "_" + channelType;
-            if (!channels.containsKey(serverChannelKey)) {
-                channels.put(serverChannelKey, ""); // Initialize empty
-            }
+            channels.putIfAbsent(serverChannelKey, ""); // Initialize empty
         }
     }
-}
\ No newline at end of file
+
+    public boolean isShadowMode() {
+        return shadowMode;
+    }
+
+    public void setShadowMode(boolean shadowMode) {
+        this.shadowMode = shadowMode;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    public void setOutputFile(String outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    // Channel ID to webhook URL, used by the webhook output
+    public Map<String, String> getWebhookUrls() {
+        return webhookUrls;
+    }
+
+    public String getRestBaseUrl() {
+        return restBaseUrl;
+    }
+
+    public void setRestBaseUrl(String restBaseUrl) {
+        this.restBaseUrl = restBaseUrl;
+    }
+
+    public boolean isSocketEnabled() {
+        return socketEnabled;
+    }
+
+    public void setSocketEnabled(boolean socketEnabled) {
+        this.socketEnabled = socketEnabled;
+    }
+
+    public String getSocketBindAddress() {
+        return socketBindAddress;
+    }
+
+    public void setSocketBindAddress(String socketBindAddress) {
+        this.socketBindAddress = socketBindAddress;
+    }
+
+    // Shared UDP and TCP port; senders name their server with an "@name" header line
+    public int getSocketPort() {
+        return socketPort;
+    }
+
+    public void setSocketPort(int socketPort) {
+        this.socketPort = socketPort;
+    }
+
+    // Server name to a dedicated UDP and TCP port that needs no header
+    public Map<String, Integer> getSocketServerPorts() {
+        return socketServerPorts;
+    }
+
+    // Most server names that socket senders and forwarding agents may introduce beyond the configured ones
+    public int getMaxRemoteServers() {
+        return maxRemoteServers;
+    }
+
+    public void setMaxRemoteServers(int maxRemoteServers) {
+        this.maxRemoteServers = maxRemoteServers;
+    }
+
+    public boolean isForwardingEnabled() {
+        return forwardingEnabled;
+    }
+
+    public void setForwardingEnabled(boolean forwardingEnabled) {
+        this.forwardingEnabled = forwardingEnabled;
+    }
+
+    public String getForwardingBindAddress() {
+        return forwardingBindAddress;
+    }
+
+    public void setForwardingBindAddress(String forwardingBindAddress) {
+        this.forwardingBindAddress = forwardingBindAddress;
+    }
+
+    public int getForwardingPort() {
+        return forwardingPort;
+    }
+
+    public void setForwardingPort(int forwardingPort) {
+        this.forwardingPort = forwardingPort;
+    }
+
+    // Agent ID to the prefix put before its server names; agents not listed use "<agent ID>/"
+    public Map<String, String> getForwardingServerPrefixes() {
+        return forwardingServerPrefixes;
+    }
+
+    // Shared secret forwarding agents must present; empty accepts any agent
+    public String getForwardingToken() {
+        return forwardingToken;
+    }
+
+    public void setForwardingToken(String forwardingToken) {
+        this.forwardingToken = forwardingToken;
+    }
+}
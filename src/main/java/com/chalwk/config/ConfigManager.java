@@ -21,20 +21,43 @@ public class ConfigManager {
     private static final String CONFIG_FILE = "sapp_bot_config.json";
 
     private final ObjectMapper objectMapper;
+    private final boolean persistent;
     private AppConfig config;
+    private volatile long version;
 
     public ConfigManager() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this.persistent = true;
         loadConfig();
     }
 
+    // Holds the given config in memory only, for tools and benchmarks that must not read or write sapp_bot_config.json
+    public ConfigManager(AppConfig config) {
+        this.objectMapper = new ObjectMapper();
+        this.persistent = false;
+        this.config = config;
+    }
+
+    // False for a config held in memory only; nothing derived from it should be written to disk either
+    public boolean isPersistent() {
+        return persistent;
+    }
+
     public AppConfig getConfig() {
         return config;
     }
 
+    // Bumped on every save so anything compiled from the config knows to rebuild
+    public long getVersion() {
+        return version;
+    }
+
     public void saveConfig(AppConfig newConfig) throws IOException {
         this.config = newConfig;
+        version++;
+        if (!persistent) return;
+
         objectMapper.writeValue(new File(CONFIG_FILE), config);
         logger.info("Configuration saved to {}", CONFIG_FILE);
     }
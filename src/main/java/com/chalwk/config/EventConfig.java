@@ -12,6 +12,8 @@ public class EventConfig {
     private String color;
     private boolean useEmbed;
     private String channelId;
+    private String sink;
+    private boolean liveMessage;
 
     public EventConfig() {
     }
@@ -24,6 +26,12 @@ public class EventConfig {
         this.channelId = channelId;
     }
 
+    public EventConfig(EventConfig other) {
+        this(other.enabled, other.template, other.color, other.useEmbed, other.channelId);
+        this.sink = other.sink;
+        this.liveMessage = other.liveMessage;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -63,4 +71,22 @@ public class EventConfig {
     public void setChannelId(String channelId) {
         this.channelId = channelId;
     }
+
+    // Output sink name (discord, webhook, rest, shadow, file, null); empty means discord
+    public String getSink() {
+        return sink;
+    }
+
+    public void setSink(String sink) {
+        this.sink = sink;
+    }
+
+    // Edit one message per server and game with the latest state instead of posting one per event
+    public boolean isLiveMessage() {
+        return liveMessage;
+    }
+
+    public void setLiveMessage(boolean liveMessage) {
+        this.liveMessage = liveMessage;
+    }
 }
\ No newline at end of file
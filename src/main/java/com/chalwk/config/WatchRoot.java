@@ -0,0 +1,61 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.config;
+
+public class WatchRoot {
+
+    public static final String MODE_POLL = "poll";
+    public static final String MODE_WATCH = "watch";
+    public static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+
+    private String directory;
+    private String mode = MODE_POLL;
+    private String serverPrefix = "";
+    private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+
+    public WatchRoot() {
+    }
+
+    public WatchRoot(String directory) {
+        this.directory = directory;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    // "poll" lists the directory every poll interval; "watch" reads when the OS reports a change
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    // Prepended to the file name to form the server name, so servers in different roots cannot collide
+    public String getServerPrefix() {
+        return serverPrefix;
+    }
+
+    public void setServerPrefix(String serverPrefix) {
+        this.serverPrefix = serverPrefix;
+    }
+
+    // Files larger than this are cleared; 0 never clears them
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+}
@@ -7,56 +7,155 @@
 package com.chalwk.discord;
 
 import com.chalwk.config.ConfigManager;
+import com.chalwk.jfr.DiscordRateLimitEvent;
+import com.chalwk.jfr.DiscordSendEvent;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.output.OutputSink;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class DiscordBot {
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class DiscordBot implements OutputSink {
 
     private static final Logger logger = LoggerFactory.getLogger(DiscordBot.class);
 
+    // Sends queued while the gateway handshake is still in progress
+    private static final int MAX_PENDING_SENDS = 1000;
+
     private final ConfigManager configManager;
-    private JDA jda;
-    private boolean isRunning;
+    private final Deque<Runnable> pendingSends = new ArrayDeque<>();
+    private final AtomicBoolean firstDelivery = new AtomicBoolean(true);
+    private volatile JDA jda;
+    private volatile boolean isRunning;
+    private volatile boolean isStarting;
+    // The thread replaying buffered sends; its own sends go straight out while everyone else's still queue behind
+    private volatile Thread flushingThread;
+    private long droppedPendingSends;
 
     public DiscordBot(ConfigManager configManager) {
         this.configManager = configManager;
     }
 
+    // Buffers sends from here on until start() finishes; call it before any event source starts
+    public void beginStarting() {
+        synchronized (pendingSends) {
+            if (!isRunning) isStarting = true;
+        }
+    }
+
+    // Blocks until the gateway is ready, so never call this on the EDT
     public boolean start() {
         String token = configManager.getConfig().getDiscordToken();
         if (token == null || token.trim().isEmpty()) {
             logger.error("Discord bot token is not configured");
+            abortStart();
             return false;
         }
 
+        beginStarting();
+
         try {
-            jda = JDABuilder.createDefault(token)
+            long startNanos = System.nanoTime();
+
+            JDA jda = JDABuilder.createDefault(token)
                     .enableIntents(GatewayIntent.MESSAGE_CONTENT)
                     .disableCache(CacheFlag.VOICE_STATE, CacheFlag.EMOJI, CacheFlag.STICKER)
+                    .setHttpClientBuilder(new OkHttpClient.Builder().addInterceptor(chain -> {
+                        Response response = chain.proceed(chain.request());
+                        if (response.code() == 429) {
+                            Metrics.MESSAGES_RATE_LIMITED.increment();
+                            recordRateLimit(response);
+                        }
+                        return response;
+                    }))
                     .build();
+            this.jda = jda;
 
             jda.awaitReady();
-            isRunning = true;
-            logger.info("Discord bot started successfully. Connected to {} servers", jda.getGuilds().size());
+            if (this.jda != jda) {
+                logger.info("Discord bot was stopped before it became ready");
+                return false;
+            }
+
+            logger.info("Discord bot started successfully in {} ms. Connected to {} servers",
+                    (System.nanoTime() - startNanos) / 1_000_000, jda.getGuilds().size());
+
+            flushPendingSends();
             return true;
 
         } catch (InterruptedException e) {
             logger.error("Bot startup interrupted", e);
             Thread.currentThread().interrupt();
+            abortStart();
             return false;
         } catch (Exception e) {
             logger.error("Failed to start Discord bot", e);
+            abortStart();
             return false;
         }
     }
 
+    // Sends arriving during the replay keep queueing behind it; buffering only ends once the queue is found empty
+    private void flushPendingSends() {
+        synchronized (pendingSends) {
+            isRunning = true;
+            flushingThread = Thread.currentThread();
+            if (!pendingSends.isEmpty()) {
+                logger.info("Flushing {} messages buffered during startup", pendingSends.size());
+            }
+        }
+
+        while (true) {
+            Runnable send;
+            synchronized (pendingSends) {
+                send = pendingSends.pollFirst();
+                if (send == null) {
+                    isStarting = false;
+                    flushingThread = null;
+                    if (droppedPendingSends > 0) {
+                        logger.warn("Dropped {} messages that arrived before Discord was ready", droppedPendingSends);
+                        droppedPendingSends = 0;
+                    }
+                    return;
+                }
+                Metrics.SEND_QUEUE_DEPTH.decrement();
+            }
+            try {
+                send.run();
+            } catch (Exception e) {
+                logger.error("Failed to send a buffered message", e);
+            }
+        }
+    }
+
+    private void abortStart() {
+        synchronized (pendingSends) {
+            isStarting = false;
+            Metrics.SEND_QUEUE_DEPTH.add(-pendingSends.size());
+            pendingSends.clear();
+        }
+    }
+
     public void stop() {
+        abortStart();
         if (jda != null) {
             jda.shutdown();
             jda = null;
@@ -66,6 +165,14 @@ public class DiscordBot {
     }
 
     public void sendMessage(String channelId, String message) {
+        sendMessage(channelId, message, null);
+    }
+
+    @Override
+    public void sendMessage(String channelId, String message, Runnable onDelivered) {
+        if (bufferIfStarting(() -> sendMessage(channelId, message, onDelivered))) return;
+
+        JDA jda = this.jda;
         if (!isRunning || jda == null) {
             logger.warn("Discord bot is not running");
             return;
@@ -79,40 +186,175 @@ public class DiscordBot {
             }
 
             // Split long messages to avoid Discord's 2000-character limit
-            if (message.length() > 2000) {
-                message = message.substring(0, 1997) + "...";
+            String content = message;
+            if (content.length() > 2000) {
+                content = content.substring(0, 1997) + "...";
             }
 
-            channel.sendMessage(message).queue();
-            logger.debug("Message sent to channel {}: {}", channelId, message);
+            Metrics.SEND_QUEUE_DEPTH.increment();
+            Metrics.channelQueueDepth(channelId).increment();
+            DiscordSendEvent sendEvent = beginSendEvent(channelId, "message");
+            channel.sendMessage(content).queue(
+                    success -> onDelivered(sendEvent, channelId, onDelivered),
+                    failure -> onFailed(sendEvent, "message", channelId, failure));
+            logger.debug("Message sent to channel {}: {}", channelId, content);
 
         } catch (Exception e) {
+            Metrics.MESSAGES_FAILED.increment();
             logger.error("Failed to send message to channel {}", channelId, e);
         }
     }
 
     public void sendEmbed(String channelId, MessageEmbed embed) {
+        sendEmbed(channelId, embed, null);
+    }
+
+    @Override
+    public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+        if (bufferIfStarting(() -> sendEmbed(channelId, embed, onDelivered))) return;
+
+        queueEmbed(channelId, "embed", channel -> channel.sendMessageEmbeds(embed),
+                message -> {
+                    if (onDelivered != null) onDelivered.run();
+                }, null);
+    }
+
+    @Override
+    public void postEditableEmbed(String channelId, MessageEmbed embed, Consumer<String> onPosted) {
+        if (bufferIfStarting(() -> postEditableEmbed(channelId, embed, onPosted))) return;
+
+        boolean queued = queueEmbed(channelId, "embed", channel -> channel.sendMessageEmbeds(embed),
+                message -> onPosted.accept(message.getId()), failure -> onPosted.accept(null));
+        if (!queued) {
+            onPosted.accept(null);
+        }
+    }
+
+    @Override
+    public void editEmbed(String channelId, String messageId, MessageEmbed embed, Runnable onMissing) {
+        if (bufferIfStarting(() -> editEmbed(channelId, messageId, embed, onMissing))) return;
+
+        queueEmbed(channelId, "edit", channel -> channel.editMessageEmbedsById(messageId, embed), null, failure -> {
+            if (failure instanceof ErrorResponseException error
+                    && error.getErrorResponse() == ErrorResponse.UNKNOWN_MESSAGE) {
+                onMissing.run();
+            }
+        });
+    }
+
+    // False if nothing was queued because the bot is down or the channel is unknown
+    private boolean queueEmbed(String channelId, String kind, Function<TextChannel, RestAction<Message>> action,
+                               Consumer<Message> onSuccess, Consumer<Throwable> onFailure) {
+        JDA jda = this.jda;
         if (!isRunning || jda == null) {
             logger.warn("Discord bot is not running");
-            return;
+            return false;
         }
 
         try {
             TextChannel channel = jda.getTextChannelById(channelId);
             if (channel == null) {
                 logger.error("Channel not found: {}", channelId);
-                return;
+                return false;
             }
 
-            channel.sendMessageEmbeds(embed).queue();
-            logger.debug("Embed sent to channel {}: {}", channelId, embed.getTitle());
+            Metrics.SEND_QUEUE_DEPTH.increment();
+            Metrics.channelQueueDepth(channelId).increment();
+            DiscordSendEvent sendEvent = beginSendEvent(channelId, kind);
+            action.apply(channel).queue(
+                    message -> {
+                        onDelivered(sendEvent, channelId, null);
+                        if (onSuccess != null) onSuccess.accept(message);
+                    },
+                    failure -> {
+                        onFailed(sendEvent, kind, channelId, failure);
+                        if (onFailure != null) onFailure.accept(failure);
+                    });
+            logger.debug("{} queued for channel {}", kind, channelId);
+            return true;
 
         } catch (Exception e) {
-            logger.error("Failed to send embed to channel {}", channelId, e);
+            Metrics.MESSAGES_FAILED.increment();
+            logger.error("Failed to send {} to channel {}", kind, channelId, e);
+            return false;
+        }
+    }
+
+    private boolean bufferIfStarting(Runnable send) {
+        synchronized (pendingSends) {
+            if (!isStarting || Thread.currentThread() == flushingThread) return false;
+
+            if (pendingSends.size() >= MAX_PENDING_SENDS) {
+                pendingSends.pollFirst();
+                droppedPendingSends++;
+                Metrics.SEND_QUEUE_DEPTH.decrement();
+                Metrics.MESSAGES_FAILED.increment();
+            }
+            pendingSends.addLast(send);
+            Metrics.SEND_QUEUE_DEPTH.increment();
+            return true;
+        }
+    }
+
+    private static DiscordSendEvent beginSendEvent(String channelId, String kind) {
+        DiscordSendEvent event = new DiscordSendEvent();
+        if (event.isEnabled()) {
+            event.channel = channelId;
+            event.kind = kind;
+            event.begin();
+        }
+        return event;
+    }
+
+    private static void commitSendEvent(DiscordSendEvent event, String status) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    private static void recordRateLimit(Response response) {
+        DiscordRateLimitEvent event = new DiscordRateLimitEvent();
+        if (!event.shouldCommit()) return;
+
+        event.route = response.request().method() + " " + response.request().url().encodedPath();
+        event.global = "true".equalsIgnoreCase(response.header("X-RateLimit-Global"));
+        String retryAfter = response.header("Retry-After");
+        try {
+            event.retryAfter = retryAfter != null ? (long) (Double.parseDouble(retryAfter) * 1000) : 0;
+        } catch (NumberFormatException ignored) {
+        }
+        event.commit();
+    }
+
+    private void onFailed(DiscordSendEvent sendEvent, String kind, String channelId, Throwable failure) {
+        commitSendEvent(sendEvent, "failed");
+        Metrics.SEND_QUEUE_DEPTH.decrement();
+        Metrics.channelQueueDepth(channelId).decrement();
+        Metrics.MESSAGES_FAILED.increment();
+        logger.error("Failed to deliver {} to channel {}", kind, channelId, failure);
+    }
+
+    private void onDelivered(DiscordSendEvent sendEvent, String channelId, Runnable callback) {
+        commitSendEvent(sendEvent, "sent");
+        Metrics.SEND_QUEUE_DEPTH.decrement();
+        Metrics.channelQueueDepth(channelId).decrement();
+        Metrics.MESSAGES_SENT.increment();
+        if (callback != null) {
+            callback.run();
+        }
+        if (firstDelivery.compareAndSet(true, false)) {
+            long sinceLaunch = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            logger.info("First event delivered to Discord {} ms after application launch", sinceLaunch);
         }
     }
 
     public boolean isRunning() {
         return isRunning;
     }
-}
\ No newline at end of file
+
+    public boolean isStarting() {
+        return isStarting;
+    }
+}
@@ -6,35 +6,138 @@
 
 package com.chalwk.discord;
 
+import com.chalwk.config.AppConfig;
 import com.chalwk.config.ConfigManager;
 import com.chalwk.config.EventConfig;
+import com.chalwk.jfr.EventRouteEvent;
+import com.chalwk.metrics.LatencyTracker;
+import com.chalwk.metrics.Metrics;
 import com.chalwk.model.RawEvent;
+import com.chalwk.output.DiscordHttpSink;
+import com.chalwk.output.FileSink;
+import com.chalwk.output.NullSink;
+import com.chalwk.output.OutputSink;
+import com.chalwk.output.ShadowSink;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.awt.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EventProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(EventProcessor.class);
 
     private final ConfigManager configManager;
-    private EventListener eventListener;
+    private static final Map<String, String[]> DIGEST_LABELS = Map.ofEntries(
+            Map.entry("event_death", new String[]{"death", "deaths"}),
+            Map.entry("event_join", new String[]{"join", "joins"}),
+            Map.entry("event_leave", new String[]{"leave", "leaves"}),
+            Map.entry("event_start", new String[]{"game started", "games started"}),
+            Map.entry("event_end", new String[]{"game played", "games played"}),
+            Map.entry("event_score", new String[]{"score", "scores"}),
+            Map.entry("event_spawn", new String[]{"spawn", "spawns"}),
+            Map.entry("event_team_switch", new String[]{"team switch", "team switches"}),
+            Map.entry("event_login", new String[]{"login", "logins"}),
+            Map.entry("event_snap", new String[]{"snap", "snaps"}),
+            Map.entry("event_map_reset", new String[]{"map reset", "map resets"}),
+            Map.entry("event_chat", new String[]{"chat message", "chat messages"}),
+            Map.entry("event_command", new String[]{"command", "commands"})
+    );
+
+    private final Map<String, OutputSink> sinks = new ConcurrentHashMap<>();
+    private final Map<String, EnabledKeys> enabledKeys = new ConcurrentHashMap<>();
+    private final LiveMessages liveMessages;
+    // Called from the file watcher, catch-up, socket and forwarding threads at once
+    private volatile EventListener eventListener;
 
     public EventProcessor(ConfigManager configManager) {
+        this(configManager, configManager.isPersistent() ? Paths.get(LiveMessages.STATE_FILE) : null);
+    }
+
+    // Live-message IDs are kept in liveMessageState across restarts; null keeps them in memory only
+    public EventProcessor(ConfigManager configManager, Path liveMessageState) {
         this.configManager = configManager;
+        this.liveMessages = new LiveMessages(configManager, liveMessageState);
+        sinks.put(OutputSink.SHADOW, new ShadowSink());
+        sinks.put(OutputSink.NULL, NullSink.INSTANCE);
+    }
+
+    // Makes a sink selectable by name from event configs, replacing any sink already registered under it
+    public void registerSink(String name, OutputSink sink) {
+        OutputSink previous = sinks.put(name, sink);
+        if (previous != null && previous != sink) {
+            previous.close();
+        }
+    }
+
+    // A registered sink, or one of the built-in ones created on first use; null if the name is unknown
+    public OutputSink getSink(String name) {
+        OutputSink sink = sinks.get(name);
+        return sink != null ? sink : createSink(name);
+    }
+
+    public void close() {
+        liveMessages.close();
+        for (OutputSink sink : sinks.values()) {
+            sink.close();
+        }
+    }
+
+    // Lets readers drop lines of disabled types before parsing them; compiled per server, rebuilt after a config save
+    public boolean isEnabled(String serverName, String configKey) {
+        long version = configManager.getVersion();
+        Map<String, EventConfig> configs = configManager.getConfig().getEventConfigsForServer(serverName);
+        EnabledKeys compiled = enabledKeys.get(serverName);
+
+        if (compiled == null || compiled.version() != version || compiled.source() != configs) {
+            Set<String> keys = new HashSet<>();
+            for (Map.Entry<String, EventConfig> entry : configs.entrySet()) {
+                if (entry.getValue() != null && entry.getValue().isEnabled()) {
+                    keys.add(entry.getKey());
+                }
+            }
+            compiled = new EnabledKeys(version, configs, keys);
+            enabledKeys.put(serverName, compiled);
+        }
+        return compiled.keys().contains(configKey);
+    }
+
+    // Readers never skip these, even when disabled, since they close the game's live message in order with its scores
+    public static boolean isGameBoundary(String configKey) {
+        return "event_end".equals(configKey) || "event_start".equals(configKey);
+    }
+
+    // For boundaries that are read but not processed, such as during a catch-up
+    public void endGame(String serverName) {
+        liveMessages.endGame(serverName);
     }
 
     public void setEventListener(EventListener listener) {
         this.eventListener = listener;
     }
 
-    public void processRawEvent(RawEvent rawEvent, DiscordBot discordBot, String serverName) {
+    public void processRawEvent(RawEvent rawEvent, OutputSink discordSink, String serverName) {
         String eventType = rawEvent.getEvent_type();
         String subtype = rawEvent.getSubtype();
+        // Counted here so file, socket and forwarded events all show up in the per-server rates
+        Metrics.serverEvents(serverName).increment();
+        EventRouteEvent routeEvent = new EventRouteEvent();
+        routeEvent.begin();
+
+        // Whatever the game's live message showed last is its final state
+        if (isGameBoundary(eventType)) {
+            liveMessages.endGame(serverName);
+        }
 
         String configKey = eventType;
         if (subtype != null && !subtype.isEmpty()) {
@@ -44,7 +147,9 @@ public class EventProcessor {
         EventConfig eventConfig = configManager.getConfig().getEventConfigsForServer(serverName).get(configKey);
 
         if (eventConfig == null || !eventConfig.isEnabled()) {
+            Metrics.EVENTS_DISABLED.increment();
             logger.debug("Event not configured or disabled: {}", configKey);
+            commitRoute(routeEvent, serverName, configKey, "disabled", null);
             return;
         }
 
@@ -52,7 +157,9 @@ public class EventProcessor {
         String channelId = getChannelIdForServer(serverName, channelType);
 
         if (channelId == null || channelId.trim().isEmpty()) {
+            Metrics.EVENTS_UNROUTED.increment();
             logger.debug("No channel configured for server '{}' and type '{}'", serverName, channelType);
+            commitRoute(routeEvent, serverName, configKey, "unrouted", null);
             return;
         }
 
@@ -60,18 +167,102 @@ public class EventProcessor {
                 eventConfig.getTemplate(),
                 rawEvent.getData()
         );
+        rawEvent.setRenderedNanos(System.nanoTime());
 
-        if (eventConfig.isUseEmbed()) {
-            sendEmbed(channelId, processedContent, eventConfig.getColor(), discordBot);
+        OutputSink sink = resolveSink(eventConfig.getSink(), discordSink);
+        Runnable onDelivered = () -> LatencyTracker.global().recordDelivery(rawEvent, serverName);
+        rawEvent.setEnqueuedNanos(System.nanoTime());
+        Metrics.EVENTS_ROUTED.increment();
+
+        String outcome;
+        if (eventConfig.isLiveMessage()) {
+            liveMessages.update(serverName, channelId, processedContent, getColorFromName(eventConfig.getColor()), sink);
+            outcome = "live";
+        } else if (eventConfig.isUseEmbed()) {
+            sendEmbed(channelId, processedContent, eventConfig.getColor(), sink, onDelivered);
+            outcome = "embed";
         } else {
-            discordBot.sendMessage(channelId, processedContent);
+            sink.sendMessage(channelId, processedContent, onDelivered);
+            outcome = "message";
         }
+        commitRoute(routeEvent, serverName, configKey, outcome, sink);
 
         if (eventListener != null) {
             eventListener.onEventProcessed(rawEvent, serverName);
         }
     }
 
+    // One message in place of the events a catch-up summarised, e.g. "142 deaths, 37 joins, 2 games played"
+    public void processDigest(String serverName, Map<String, Integer> counts, OutputSink discordSink) {
+        if (counts.isEmpty()) return;
+
+        String channelId = getChannelIdForServer(serverName, "GENERAL");
+        if (channelId == null || channelId.trim().isEmpty()) {
+            Metrics.EVENTS_UNROUTED.increment();
+            logger.debug("No channel configured for server '{}' and type 'GENERAL'", serverName);
+            return;
+        }
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : entries) {
+            if (summary.length() > 0) summary.append(", ");
+            summary.append(entry.getValue()).append(' ').append(digestLabel(entry.getKey(), entry.getValue()));
+        }
+
+        Metrics.EVENTS_ROUTED.increment();
+        sendEmbed(channelId, "**⏱️ Catch-up** → " + summary + " while the bot was behind", "blue",
+                resolveSink(null, discordSink), null);
+    }
+
+    private static String digestLabel(String eventType, int count) {
+        String[] label = DIGEST_LABELS.get(eventType);
+        if (label == null) {
+            String name = eventType.startsWith("event_") ? eventType.substring(6) : eventType;
+            label = new String[]{name.replace('_', ' ') + " event", name.replace('_', ' ') + " events"};
+        }
+        return count == 1 ? label[0] : label[1];
+    }
+
+    private void commitRoute(EventRouteEvent routeEvent, String serverName, String configKey, String outcome,
+                             OutputSink sink) {
+        routeEvent.end();
+        if (routeEvent.shouldCommit()) {
+            routeEvent.server = serverName;
+            routeEvent.eventType = configKey;
+            routeEvent.outcome = outcome;
+            routeEvent.sink = sink != null ? sink.getClass().getSimpleName() : null;
+            routeEvent.commit();
+        }
+    }
+
+    private OutputSink resolveSink(String sinkName, OutputSink discordSink) {
+        if (sinkName == null || sinkName.isEmpty() || OutputSink.DISCORD.equals(sinkName)) {
+            return configManager.getConfig().isShadowMode() ? sinks.get(OutputSink.SHADOW) : discordSink;
+        }
+
+        // A mistyped name must not publish what was meant for shadow, file or null output
+        OutputSink sink = getSink(sinkName);
+        if (sink == null) {
+            logger.warn("Unknown output sink '{}', rendering to the shadow sink instead", sinkName);
+            return sinks.get(OutputSink.SHADOW);
+        }
+        return sink;
+    }
+
+    private OutputSink createSink(String sinkName) {
+        AppConfig config = configManager.getConfig();
+        return switch (sinkName) {
+            case OutputSink.FILE -> sinks.computeIfAbsent(sinkName, k -> new FileSink(Paths.get(config.getOutputFile())));
+            case OutputSink.WEBHOOK -> sinks.computeIfAbsent(sinkName, k -> DiscordHttpSink.webhooks(config.getWebhookUrls()));
+            case OutputSink.REST -> sinks.computeIfAbsent(sinkName,
+                    k -> DiscordHttpSink.rest(config.getRestBaseUrl(), config.getDiscordToken()));
+            default -> null;
+        };
+    }
+
     private String getChannelIdForServer(String serverName, String channelType) {
         String serverChannelKey = serverName + "_" + channelType;
         String channelId = configManager.getConfig().getChannels().get(serverChannelKey);
@@ -83,38 +274,43 @@ public class EventProcessor {
         return channelId;
     }
 
-    private void sendEmbed(String channelId, String description, String colorName, DiscordBot discordBot) {
+    private void sendEmbed(String channelId, String description, String colorName, OutputSink sink,
+                           Runnable onDelivered) {
         EmbedBuilder builder = new EmbedBuilder();
         builder.setDescription(description);
         builder.setTimestamp(Instant.now());
 
-        Color color = getColorFromName(colorName);
+        Integer color = getColorFromName(colorName);
         if (color != null) {
             builder.setColor(color);
         }
 
         MessageEmbed embed = builder.build();
-        discordBot.sendEmbed(channelId, embed);
+        sink.sendEmbed(channelId, embed, onDelivered);
     }
 
-    private Color getColorFromName(String colorName) {
+    // Plain RGB values so the headless mode never has to load java.awt.Color
+    private Integer getColorFromName(String colorName) {
         if (colorName == null) return null;
 
         return switch (colorName.toLowerCase()) {
-            case "red" -> Color.RED;
-            case "green" -> Color.GREEN;
-            case "blue" -> Color.BLUE;
-            case "yellow" -> Color.YELLOW;
-            case "orange" -> Color.ORANGE;
-            case "purple" -> new Color(128, 0, 128);
-            case "cyan" -> Color.CYAN;
-            case "pink" -> Color.PINK;
-            case "white" -> Color.WHITE;
-            case "black" -> Color.BLACK;
-            default -> Color.GRAY;
+            case "red" -> 0xFF0000;
+            case "green" -> 0x00FF00;
+            case "blue" -> 0x0000FF;
+            case "yellow" -> 0xFFFF00;
+            case "orange" -> 0xFFC800;
+            case "purple" -> 0x800080;
+            case "cyan" -> 0x00FFFF;
+            case "pink" -> 0xFFAFAF;
+            case "white" -> 0xFFFFFF;
+            case "black" -> 0x000000;
+            default -> 0x808080;
         };
     }
 
+    private record EnabledKeys(long version, Map<String, EventConfig> source, Set<String> keys) {
+    }
+
     public interface EventListener {
         void onEventProcessed(RawEvent event, String serverName);
     }
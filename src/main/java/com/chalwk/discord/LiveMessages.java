@@ -0,0 +1,245 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.discord;
+
+import com.chalwk.config.ConfigManager;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.output.OutputSink;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// One embed per server for live-message events, edited in place at most once every liveMessageIntervalSeconds.
+// event_end (or a new event_start) gives the game's message its final edit; the next game posts a new one.
+class LiveMessages {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveMessages.class);
+
+    static final String STATE_FILE = "live_messages.json";
+
+    private final ConfigManager configManager;
+    // Null when nothing is persisted
+    private final Path stateFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "live-messages");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Guarded by this
+    private final Map<String, Board> boards = new HashMap<>();
+
+    LiveMessages(ConfigManager configManager, Path stateFile) {
+        this.configManager = configManager;
+        this.stateFile = stateFile;
+        load();
+    }
+
+    synchronized void update(String serverName, String channelId, String description, Integer color, OutputSink sink) {
+        Board board = boards.get(serverName);
+        if (board == null || !board.channelId.equals(channelId)) {
+            board = new Board(channelId, null);
+            boards.put(serverName, board);
+        }
+        if (board.dirty) {
+            Metrics.LIVE_UPDATES_COALESCED.increment();
+        }
+        board.description = description;
+        board.color = color;
+        board.sink = sink;
+        board.dirty = true;
+        flushWhenDue(board);
+    }
+
+    synchronized void endGame(String serverName) {
+        Board board = boards.remove(serverName);
+        if (board == null) return;
+
+        // A message restored after a restart has nothing to show until its first update
+        if (board.description != null) {
+            board.finished = true;
+            board.dirty = true;
+            flushWhenDue(board);
+        }
+        if (board.messageId != null) saveLater();
+    }
+
+    void close() {
+        synchronized (this) {
+            for (Board board : boards.values()) {
+                if (board.dirty && !board.posting && board.sink != null) flush(board);
+            }
+        }
+        scheduler.shutdownNow();
+        save();
+    }
+
+    // A finished board skips the wait; one still being posted is flushed once its message ID is known
+    private void flushWhenDue(Board board) {
+        if (!board.dirty || board.posting || (board.scheduled && !board.finished)) return;
+
+        long intervalMillis = Math.max(1, configManager.getConfig().getLiveMessageIntervalSeconds()) * 1000L;
+        long wait = board.lastFlushMillis + intervalMillis - System.currentTimeMillis();
+        if (wait > 0 && !board.finished) {
+            board.scheduled = true;
+            try {
+                scheduler.schedule(() -> {
+                    synchronized (LiveMessages.this) {
+                        board.scheduled = false;
+                        flushWhenDue(board);
+                    }
+                }, wait, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                board.scheduled = false;
+            }
+            return;
+        }
+        flush(board);
+    }
+
+    private void flush(Board board) {
+        board.dirty = false;
+        board.lastFlushMillis = System.currentTimeMillis();
+        MessageEmbed embed = board.render();
+
+        if (board.messageId == null) {
+            board.posting = true;
+            board.sink.postEditableEmbed(board.channelId, embed, messageId -> posted(board, messageId));
+        } else {
+            String messageId = board.messageId;
+            Metrics.LIVE_MESSAGE_EDITS.increment();
+            board.sink.editEmbed(board.channelId, messageId, embed, () -> missing(board, messageId));
+        }
+    }
+
+    // A null ID means the sink cannot edit, so the next flush posts again
+    private synchronized void posted(Board board, String messageId) {
+        board.posting = false;
+        board.messageId = messageId;
+        if (messageId != null) saveLater();
+        flushWhenDue(board);
+    }
+
+    // The message was deleted in Discord; the next flush posts a new one
+    private synchronized void missing(Board board, String messageId) {
+        if (!messageId.equals(board.messageId)) return;
+
+        logger.info("Live message {} in channel {} no longer exists, posting a new one", messageId, board.channelId);
+        board.messageId = null;
+        board.dirty = true;
+        saveLater();
+        flushWhenDue(board);
+    }
+
+    private void load() {
+        if (stateFile == null) return;
+
+        File file = stateFile.toFile();
+        if (!file.exists()) return;
+
+        try {
+            Map<String, SavedMessage> saved = objectMapper.readValue(file, new TypeReference<Map<String, SavedMessage>>() {
+            });
+            synchronized (this) {
+                for (Map.Entry<String, SavedMessage> entry : saved.entrySet()) {
+                    SavedMessage message = entry.getValue();
+                    if (message.channelId == null || message.messageId == null) continue;
+                    boards.put(entry.getKey(), new Board(message.channelId, message.messageId));
+                }
+            }
+            logger.info("Continuing {} live messages from {}", saved.size(), stateFile);
+        } catch (IOException e) {
+            logger.warn("Could not read live messages from {}, new ones will be posted", stateFile, e);
+        }
+    }
+
+    private void saveLater() {
+        if (stateFile == null) return;
+
+        try {
+            scheduler.execute(this::save);
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    private void save() {
+        if (stateFile == null) return;
+
+        Map<String, SavedMessage> saved = new TreeMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, Board> entry : boards.entrySet()) {
+                Board board = entry.getValue();
+                if (board.messageId == null) continue;
+
+                SavedMessage message = new SavedMessage();
+                message.channelId = board.channelId;
+                message.messageId = board.messageId;
+                saved.put(entry.getKey(), message);
+            }
+        }
+        if (saved.isEmpty() && !Files.exists(stateFile)) return;
+
+        try {
+            Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), saved);
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save live messages to {}", stateFile, e);
+        }
+    }
+
+    public static class SavedMessage {
+        public String channelId;
+        public String messageId;
+    }
+
+    private static class Board {
+        final String channelId;
+        String messageId;
+        String description;
+        Integer color;
+        OutputSink sink;
+        long lastFlushMillis;
+        boolean dirty;
+        boolean posting;
+        boolean scheduled;
+        boolean finished;
+
+        Board(String channelId, String messageId) {
+            this.channelId = channelId;
+            this.messageId = messageId;
+        }
+
+        MessageEmbed render() {
+            EmbedBuilder builder = new EmbedBuilder();
+            builder.setDescription(description);
+            builder.setFooter(finished ? "Final" : "Live");
+            builder.setTimestamp(Instant.now());
+            if (color != null) {
+                builder.setColor(color);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -6,38 +6,75 @@
 
 package com.chalwk.discord;
 
+import com.chalwk.jfr.TemplateRenderEvent;
+import com.chalwk.model.EventRecord;
+
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class TemplateProcessor {
 
     public static String processTemplate(String template, Map<String, Object> data) {
         if (template == null) return "";
 
-        String result = template;
-        Pattern pattern = Pattern.compile("\\$(\\w+)");
-        Matcher matcher = pattern.matcher(template);
+        TemplateRenderEvent renderEvent = new TemplateRenderEvent();
+        renderEvent.begin();
+
+        // One pass over the template; $name is the longest run of word characters after the dollar sign
+        StringBuilder result = new StringBuilder(template.length() + 32);
+        int length = template.length();
+        int i = 0;
+        while (i < length) {
+            char c = template.charAt(i);
+            int end = i + 1;
+            while (c == '$' && end < length && isWordChar(template.charAt(end))) {
+                end++;
+            }
+            if (end == i + 1) {
+                result.append(c);
+                i++;
+                continue;
+            }
 
-        while (matcher.find()) {
-            String placeholder = matcher.group(1);
-            String replacement = getReplacement(placeholder, data);
-            result = result.replace("$" + placeholder, replacement);
+            appendReplacement(result, template.substring(i + 1, end), data);
+            i = end;
         }
 
-        return result;
+        renderEvent.end();
+        if (renderEvent.shouldCommit()) {
+            renderEvent.templateLength = template.length();
+            renderEvent.outputLength = result.length();
+            renderEvent.commit();
+        }
+        return result.toString();
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
-    private static String getReplacement(String placeholder, Map<String, Object> data) {
+    private static void appendReplacement(StringBuilder out, String placeholder, Map<String, Object> data) {
+        String alias = switch (placeholder) {
+            case "gt" -> "gametype";
+            case "killerName" -> "killer_name";
+            case "victimName" -> "victim_name";
+            default -> null;
+        };
+
+        // Typed records append straight from their fields
+        if (data instanceof EventRecord record) {
+            if (record.appendTo(out, placeholder) || (alias != null && record.appendTo(out, alias))) return;
+            out.append("[MISSING:").append(placeholder).append(']');
+            return;
+        }
+
         Object value = data.get(placeholder);
-        if (value == null) {
-            value = switch (placeholder) {
-                case "gt" -> data.get("gametype");
-                case "killerName" -> data.get("killer_name");
-                case "victimName" -> data.get("victim_name");
-                default -> null;
-            };
+        if (value == null && alias != null) {
+            value = data.get(alias);
+        }
+        if (value != null) {
+            out.append(value);
+        } else {
+            out.append("[MISSING:").append(placeholder).append(']');
         }
-        return value != null ? value.toString() : "[MISSING:" + placeholder + "]";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.file;
+
+import com.chalwk.model.EventRecord;
+import com.chalwk.model.EventSchema;
+import com.chalwk.model.EventSchemas;
+import com.chalwk.model.RawEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class EventLineParser {
+
+    // Events with a registered schema get a compact EventRecord, anything else a plain map
+    public static RawEvent parseEventLine(String line) {
+        return parse(line, true);
+    }
+
+    // The map form for every type, kept for comparison in benchmarks
+    public static RawEvent parseEventLineAsMap(String line) {
+        return parse(line, false);
+    }
+
+    private static RawEvent parse(String line, boolean typed) {
+        RawEvent event = new RawEvent();
+        int typeEnd = nextSeparator(line, 0);
+        String eventType = line.substring(0, typeEnd);
+        EventSchema schema = typed ? EventSchemas.forType(eventType) : null;
+        EventRecord record = schema != null ? new EventRecord(schema) : null;
+        // The schema's copy of the type name is shared by every event of that type
+        event.setEvent_type(schema != null ? schema.getEventType() : eventType);
+        Map<String, Object> data = record != null ? record : new HashMap<>();
+
+        // A backslash-escaped pipe belongs to the value, so fields are split on unescaped pipes only
+        int start = typeEnd + 1;
+        while (start <= line.length()) {
+            int end = nextSeparator(line, start);
+            int equalsIndex = line.indexOf('=', start);
+
+            if (equalsIndex > start && equalsIndex < end) {
+                String key = line.substring(start, equalsIndex);
+                String value = unescape(line, equalsIndex + 1, end);
+
+                switch (key) {
+                    case "subtype":
+                        event.setSubtype(value);
+                        break;
+                    case "timestamp":
+                        try {
+                            event.setTimestamp(Long.parseLong(value));
+                        } catch (NumberFormatException e) {
+                            event.setTimestamp(System.currentTimeMillis() / 1000);
+                        }
+                        break;
+                    default:
+                        if (record != null) {
+                            record.set(key, value);
+                        } else {
+                            data.put(key, value);
+                        }
+                        break;
+                }
+            }
+            start = end + 1;
+        }
+
+        event.setData(data);
+        return event;
+    }
+
+    // The event config key of a line ("event_death_4", or just the type without a subtype) without parsing the rest
+    public static String peekConfigKey(String line) {
+        int typeEnd = nextSeparator(line, 0);
+        int subtypeStart = line.indexOf("|subtype=", typeEnd);
+        while (subtypeStart > 0 && isEscaped(line, subtypeStart)) {
+            subtypeStart = line.indexOf("|subtype=", subtypeStart + 1);
+        }
+        if (subtypeStart < 0) {
+            return line.substring(0, typeEnd);
+        }
+
+        int valueStart = subtypeStart + "|subtype=".length();
+        int valueEnd = nextSeparator(line, valueStart);
+        if (valueEnd == valueStart) {
+            return line.substring(0, typeEnd);
+        }
+        return line.substring(0, typeEnd) + "_" + unescape(line, valueStart, valueEnd);
+    }
+
+    private static int nextSeparator(String line, int from) {
+        int index = line.indexOf('|', from);
+        while (index > 0 && isEscaped(line, index)) {
+            index = line.indexOf('|', index + 1);
+        }
+        return index < 0 ? line.length() : index;
+    }
+
+    // Escaped by an odd run of backslashes only, so a value ending in an escaped backslash ("\\") still ends there
+    private static boolean isEscaped(String line, int index) {
+        int backslashes = 0;
+        while (index - backslashes > 0 && line.charAt(index - backslashes - 1) == '\\') {
+            backslashes++;
+        }
+        return (backslashes & 1) == 1;
+    }
+
+    public static String unescapeValue(String value) {
+        if (value == null) return "";
+        return unescape(value, 0, value.length());
+    }
+
+    private static String unescape(String line, int from, int to) {
+        int backslash = line.indexOf('\\', from);
+        if (backslash < 0 || backslash >= to) {
+            return line.substring(from, to);
+        }
+
+        StringBuilder value = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < to) {
+                char next = line.charAt(i + 1);
+                if (next == '|' || next == '\\' || next == 'n' || next == 'r') {
+                    value.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+                    i++;
+                    continue;
+                }
+            }
+            value.append(c);
+        }
+        return value.toString();
+    }
+
+    public static String generateEventHash(RawEvent event) {
+        try {
+            StringBuilder content = new StringBuilder();
+
+            content.append(event.getEvent_type()).append(":");
+            if (event.getSubtype() != null) {
+                content.append(event.getSubtype()).append(":");
+            }
+            content.append(event.getTimestamp()).append(":");
+
+            Map<String, Object> data = event.getData();
+            if (data != null) {
+                switch (event.getEvent_type()) {
+                    case "event_join":
+                    case "event_leave":
+                        appendField(content, data, "name");
+                        appendField(content, data, "id");
+                        break;
+                    case "event_chat":
+                        appendField(content, data, "name");
+                        appendField(content, data, "msg");
+                        break;
+                    case "event_death":
+                        appendField(content, data, "victimName");
+                        appendField(content, data, "killerName");
+                        break;
+                    case "event_score":
+                        appendField(content, data, "name");
+                        appendField(content, data, "score");
+                        break;
+                    default:
+                        if (data instanceof EventRecord record) {
+                            record.appendEntries(content);
+                            break;
+                        }
+                        for (Map.Entry<String, Object> entry : data.entrySet()) {
+                            content.append(entry.getKey()).append(":").append(entry.getValue()).append(":");
+                        }
+                }
+            }
+
+            return Integer.toHexString(content.toString().hashCode());
+
+        } catch (Exception e) {
+            return event.getEvent_type() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    // Typed records append straight from their slots, numbers included, without going through the map
+    private static void appendField(StringBuilder content, Map<String, Object> data, String key) {
+        if (data instanceof EventRecord record) {
+            record.appendTo(content, key);
+            return;
+        }
+        Object value = data.get(key);
+        if (value != null) {
+            content.append(value);
+        }
+    }
+}
@@ -6,39 +6,95 @@
 
 package com.chalwk.file;
 
+import com.chalwk.config.AppConfig;
 import com.chalwk.config.ConfigManager;
-import com.chalwk.discord.DiscordBot;
+import com.chalwk.config.WatchRoot;
 import com.chalwk.discord.EventProcessor;
+import com.chalwk.jfr.FilePollEvent;
+import com.chalwk.jfr.FileReadPassEvent;
+import com.chalwk.jfr.ParseBatchEvent;
+import com.chalwk.metrics.LatencyTracker;
+import com.chalwk.metrics.Metrics;
 import com.chalwk.model.RawEvent;
+import com.chalwk.output.OutputSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.util.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class FileWatcher {
 
     private static final Logger logger = LoggerFactory.getLogger(FileWatcher.class);
 
-    private static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+    public static final String THREAD_NAME = "file-watcher";
+
+    private static final long LATENCY_LOG_INTERVAL_SECONDS = 300;
+    private static final long WATCH_RESCAN_MILLIS = 30_000;
+    private static final int MAX_TRACKED_HASHES = 10_000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int FINGERPRINT_SIZE = 64;
+    // Coarsest common modification time resolution (FAT)
+    private static final long MTIME_SLACK_MILLIS = 2000;
+    private static final int CATCH_UP_CHUNK_LINES = 10_000;
 
     private final ConfigManager configManager;
-    private final DiscordBot discordBot;
+    private final OutputSink outputSink;
     private final EventProcessor eventProcessor;
     private final ScheduledExecutorService scheduler;
+    private final ExecutorService catchUpPool;
     private final Map<String, FileState> fileStates;
+    private final Map<String, String> serverFiles = new ConcurrentHashMap<>();
+    private final List<Root> roots = new ArrayList<>();
+    // Only touched from the scheduler thread
+    private final List<FileState> dueFiles = new ArrayList<>();
+    private final ReadBuffers buffers = new ReadBuffers();
+    private long lastWatchRescan;
+    private int turn;
+    private WatchService watchService;
+    private Thread watchThread;
     private boolean isWatching;
     private EventListener eventListener;
 
-    public FileWatcher(ConfigManager configManager, DiscordBot discordBot, EventProcessor eventProcessor) {
+    public FileWatcher(ConfigManager configManager, OutputSink outputSink, EventProcessor eventProcessor) {
         this.configManager = configManager;
-        this.discordBot = discordBot;
+        this.outputSink = outputSink;
         this.eventProcessor = eventProcessor;
-        this.scheduler = Executors.newSingleThreadScheduledExecutor();
-        this.fileStates = new HashMap<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, THREAD_NAME));
+        AtomicInteger catchUpThreads = new AtomicInteger();
+        this.catchUpPool = Executors.newFixedThreadPool(Math.max(1, configManager.getConfig().getCatchUpThreads()), r -> {
+            Thread thread = new Thread(r, THREAD_NAME + "-catch-up-" + catchUpThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fileStates = new ConcurrentHashMap<>();
     }
 
     public void setEventListener(EventListener listener) {
@@ -51,38 +107,114 @@ public class FileWatcher {
             return;
         }
 
-        String watchDir = configManager.getConfig().getWatchDirectory();
-        File directory = new File(watchDir);
-
-        if (!directory.exists() || !directory.isDirectory()) {
-            logger.error("Watch directory does not exist or is not a directory: {}", watchDir);
+        for (WatchRoot config : configuredRoots()) {
+            File directory = new File(config.getDirectory());
+            if (!directory.exists() || !directory.isDirectory()) {
+                logger.error("Watch directory does not exist or is not a directory: {}", config.getDirectory());
+                continue;
+            }
+            Root root = new Root(config, directory);
+            if (root.watchMode && !registerWatch(root)) {
+                root.watchMode = false;
+            }
+            roots.add(root);
+        }
+        if (roots.isEmpty()) {
+            logger.error("No usable watch directory, file watcher not started");
+            closeWatchService();
             return;
         }
 
-        if (!directory.exists()) {
-            if (directory.mkdirs()) {
-                logger.info("Created watch directory: {}", watchDir);
-            } else {
-                logger.error("Failed to create watch directory: {}", watchDir);
-                return;
+        // Without clearing, whatever accumulated while the bot was down is read and caught up on instead
+        if (configManager.getConfig().isClearOnStartup()) {
+            for (Root root : roots) {
+                clearExistingTextFiles(root.directory);
             }
         }
+        if (watchService != null) {
+            watchThread = new Thread(this::awaitChanges, THREAD_NAME + "-events");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
 
-        clearExistingTextFiles(directory);
-
-        int pollInterval = configManager.getConfig().getPollInterval();
+        AppConfig config = configManager.getConfig();
+        int pollInterval = config.getPollInterval();
+        long tick = Math.max(10, Math.min(config.getMinPollInterval(), pollInterval));
 
-        scheduler.scheduleAtFixedRate(this::checkForChanges, 0, pollInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::checkForChanges, 0, tick, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(LatencyTracker.global()::logSummary,
+                LATENCY_LOG_INTERVAL_SECONDS, LATENCY_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
         isWatching = true;
-
-        logger.info("Started watching directory: {}", watchDir);
-        logger.info("Poll interval: {} ms", pollInterval);
+        Metrics.registerGauge("sapp_files_watched", "Event files currently tracked", fileStates::size);
+        Metrics.registerGauge("sapp_dedup_set_size", "Event hashes held for duplicate detection", this::dedupSetSize);
+
+        for (Root root : roots) {
+            logger.info("Started watching directory: {} ({} mode{}, maximum file size: {})",
+                    root.directory.getPath(), root.watchMode ? WatchRoot.MODE_WATCH : WatchRoot.MODE_POLL,
+                    root.prefix.isEmpty() ? "" : ", server prefix '" + root.prefix + "'",
+                    root.maxFileSize > 0 ? root.maxFileSize + " bytes" : "unlimited");
+        }
+        logger.info("Poll interval: {} ms for new files, {}-{} ms per file depending on activity",
+                pollInterval, config.getMinPollInterval(), config.getMaxPollInterval());
         logger.info("Watching for .txt files (raw text format)");
-        logger.info("Maximum file size: {} bytes ({} MB)", getMaxFileSize(), getMaxFileSize() / (1024 * 1024));
     }
 
-    private long getMaxFileSize() {
-        return DEFAULT_MAX_FILE_SIZE;
+    // watchRoots when configured, otherwise the single watchDirectory with the defaults it always had
+    private List<WatchRoot> configuredRoots() {
+        List<WatchRoot> configured = configManager.getConfig().getWatchRoots();
+        if (configured != null && !configured.isEmpty()) {
+            return configured;
+        }
+        return List.of(new WatchRoot(configManager.getConfig().getWatchDirectory()));
+    }
+
+    private boolean registerWatch(Root root) {
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+            }
+            root.watchKey = root.directory.toPath().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("Cannot watch {} for changes, polling it instead", root.directory.getPath(), e);
+            return false;
+        }
+    }
+
+    // Runs on its own thread only to wait; the reading itself is handed to the scheduler like every poll
+    private void awaitChanges() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            key.pollEvents();
+            for (Root root : roots) {
+                if (root.watchKey == key && root.pending.compareAndSet(false, true)) {
+                    try {
+                        scheduler.execute(() -> {
+                            root.pending.set(false);
+                            checkRoots(List.of(root));
+                        });
+                    } catch (RejectedExecutionException e) {
+                        return;
+                    }
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        watchService = null;
     }
 
     private void clearExistingTextFiles(File directory) {
@@ -134,87 +266,234 @@ public class FileWatcher {
             Thread.currentThread().interrupt();
         }
 
+        catchUpPool.shutdownNow();
+        try {
+            catchUpPool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        closeWatchService();
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+
         isWatching = false;
         fileStates.clear();
+        serverFiles.clear();
+        Metrics.getServerPollIntervals().clear();
+        Metrics.getServerBacklogs().clear();
+        Metrics.unregisterGauge("sapp_files_watched");
+        Metrics.unregisterGauge("sapp_dedup_set_size");
         logger.info("File watcher stopped");
     }
 
     private void checkForChanges() {
         try {
-            File directory = new File(configManager.getConfig().getWatchDirectory());
-            File[] files = directory.listFiles((dir, name) -> name.endsWith(".txt"));
+            FilePollEvent pollEvent = new FilePollEvent();
+            pollEvent.begin();
+
+            // Watched roots are listed now and then as well, in case the OS missed a change (e.g. on network shares)
+            long now = System.currentTimeMillis();
+            boolean rescan = now - lastWatchRescan >= WATCH_RESCAN_MILLIS;
+            if (rescan) lastWatchRescan = now;
+
+            int listed = 0;
+            int changed = 0;
+            for (Root root : roots) {
+                if (root.watchMode ? rescan : now >= root.nextListing) {
+                    root.nextListing = now + configManager.getConfig().getPollInterval();
+                    listed += listRoot(root);
+                    if (root.watchMode) changed += checkRoot(root);
+                }
+            }
 
-            if (files == null) return;
+            // Polled files are only looked at once their own interval is up; unfinished files are always due
+            dueFiles.clear();
+            for (FileState state : fileStates.values()) {
+                if (state.catchingUp) continue;
+                if (state.backlogged || (!state.root.watchMode && now >= state.nextCheck)) dueFiles.add(state);
+            }
+            changed += processInTurns(dueFiles);
 
-            for (File file : files) processFileIfChanged(file);
+            pollEvent.filesListed = listed;
+            pollEvent.filesChanged = changed;
+            pollEvent.commit();
 
         } catch (Exception e) {
             logger.error("Error checking for file changes", e);
         }
     }
 
-    private void processFileIfChanged(File file) {
+    private void checkRoots(List<Root> due) {
         try {
+            FilePollEvent pollEvent = new FilePollEvent();
+            pollEvent.begin();
+
+            int listed = 0;
+            int changed = 0;
+            for (Root root : due) {
+                listed += listRoot(root);
+                changed += checkRoot(root);
+            }
+
+            pollEvent.filesListed = listed;
+            pollEvent.filesChanged = changed;
+            pollEvent.commit();
+
+        } catch (Exception e) {
+            logger.error("Error checking for file changes", e);
+        }
+    }
+
+    // Starts tracking files that are new in the root and returns how many .txt files it holds
+    private int listRoot(Root root) {
+        File[] files = root.directory.listFiles((dir, name) -> name.endsWith(".txt"));
+        if (files == null) return 0;
+
+        for (File file : files) {
             String filePath = file.getAbsolutePath();
-            long lastModified = file.lastModified();
-            long fileSize = file.length();
+            if (fileStates.containsKey(filePath)) continue;
+
+            FileState state = new FileState(root, file);
+            fileStates.put(state.path, state);
+            logger.debug("New file detected: {}", file.getName());
+            String other = serverFiles.putIfAbsent(state.serverName, filePath);
+            if (other != null && !other.equals(filePath)) {
+                logger.warn("Server name '{}' is used by both {} and {}; set a serverPrefix on one of the "
+                        + "watch roots to tell them apart", state.serverName, other, filePath);
+            }
+        }
+        return files.length;
+    }
 
-            if (fileSize > getMaxFileSize()) {
+    private int checkRoot(Root root) {
+        dueFiles.clear();
+        for (FileState state : fileStates.values()) {
+            if (state.root == root) dueFiles.add(state);
+        }
+        return processInTurns(dueFiles);
+    }
+
+    // Every due file gets one turn, limited to maxLinesPerTurn/maxBytesPerTurn, starting from a different file each
+    // tick. Files left with unread lines get further turns while the tick lasts and are due again on the next one,
+    // so a server catching up on a large backlog cannot hold up the others
+    private int processInTurns(List<FileState> due) {
+        int size = due.size();
+        if (size == 0) return 0;
+
+        int start = Math.floorMod(turn++, size);
+        long deadline = System.currentTimeMillis() + Math.max(10, configManager.getConfig().getMinPollInterval());
+        int changed = 0;
+        boolean firstRound = true;
+        boolean backlog;
+        do {
+            backlog = false;
+            for (int i = 0; i < size; i++) {
+                FileState state = due.get((start + i) % size);
+                if (!firstRound && !state.backlogged) continue;
+                // Skip files dropped during this tick (removed or cleared for size) and files a catch-up owns
+                if (fileStates.get(state.path) != state || state.catchingUp) continue;
+
+                if (processFileIfChanged(state) && firstRound) changed++;
+                backlog |= state.backlogged && !state.catchingUp;
+            }
+            firstRound = false;
+        } while (backlog && System.currentTimeMillis() < deadline);
+        return changed;
+    }
+
+    private boolean processFileIfChanged(FileState state) {
+        File file = state.file;
+        try {
+            // One stat for size, time and identity instead of a call per attribute
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                logger.debug("File {} was removed", file.getName());
+                fileStates.remove(file.getAbsolutePath());
+                return false;
+            }
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            long fileSize = attributes.size();
+            Object fileKey = attributes.fileKey();
+
+            long maxFileSize = state.root.maxFileSize;
+            if (maxFileSize > 0 && fileSize > maxFileSize) {
                 logger.warn("File {} is too large ({} bytes > {} bytes). Clearing content.",
-                        file.getName(), fileSize, getMaxFileSize());
+                        file.getName(), fileSize, maxFileSize);
                 if (clearFileContent(file)) {
-                    fileStates.remove(filePath);
+                    fileStates.remove(file.getAbsolutePath());
                     logger.info("Successfully cleared oversized file: {}", file.getName());
                 } else {
                     logger.error("Failed to clear oversized file: {}", file.getName());
                 }
-                return;
+                return false;
             }
 
-            FileState state = fileStates.get(filePath);
-
-            if (state == null || lastModified > state.lastModified || fileSize != state.fileSize) {
-                if (state == null) {
-                    state = new FileState();
-                    fileStates.put(filePath, state);
-                    logger.debug("New file detected: {}", file.getName());
-                } else {
-                    logger.debug("File modified: {} (size: {}->{}, time: {}->{})",
-                            file.getName(), state.fileSize, fileSize, state.lastModified, lastModified);
+            // fileKey is null on filesystems without inodes (e.g. NTFS); the tail fingerprint still catches rewrites
+            boolean replaced = state.fileKey != null && fileKey != null && !fileKey.equals(state.fileKey);
+            boolean changed = replaced || state.backlogged
+                    || lastModified != state.lastModified || fileSize != state.fileSize;
+            // Within the timestamp resolution of the last write, a same-size rewrite leaves size and time unchanged
+            if (!changed && state.offset > 0 && System.currentTimeMillis() - lastModified < MTIME_SLACK_MILLIS) {
+                changed = !tailMatches(file, state, buffers);
+            }
+            if (changed) {
+                logger.debug("File modified: {} (size: {}->{}, time: {}->{})",
+                        file.getName(), state.fileSize, fileSize, state.lastModified, lastModified);
+                if (replaced) {
+                    logger.info("File {} was replaced, reading it from the start", file.getName());
+                    state.resetRead();
                 }
 
+                state.fileKey = fileKey;
                 state.lastModified = lastModified;
                 state.fileSize = fileSize;
 
                 processNewEvents(file, state);
             }
+            scheduleNextCheck(state, changed);
+            return changed;
         } catch (Exception e) {
             logger.error("Error processing file changes: {}", file.getName(), e);
         }
+        return false;
+    }
+
+    // A growing file is checked at the minimum interval; each idle check doubles the wait, up to the maximum
+    private void scheduleNextCheck(FileState state, boolean changed) {
+        if (state.root.watchMode) return;
+
+        AppConfig config = configManager.getConfig();
+        long min = Math.max(10, config.getMinPollInterval());
+        long max = Math.max(min, config.getMaxPollInterval());
+        state.interval = changed || state.interval == 0 ? min : Math.min(state.interval * 2, max);
+        state.nextCheck = System.currentTimeMillis() + state.interval;
+        Metrics.serverPollInterval(state.serverName).set(state.interval);
     }
 
     private void processNewEvents(File file, FileState state) {
         try {
-            List<RawEvent> eventsToProcess = parseRawTextEvents(file, state);
+            String serverName = state.serverName;
+            AppConfig config = configManager.getConfig();
+            List<RawEvent> eventsToProcess = parseRawTextEvents(file, state, serverName, buffers,
+                    config.getMaxLinesPerTurn(), config.getMaxBytesPerTurn());
 
             if (eventsToProcess.isEmpty()) return;
 
-            String serverName = file.getName().replace(".txt", "");
+            long backlog = state.unreadAtRead;
+            if (needsCatchUp(config, backlog, eventsToProcess)) {
+                startCatchUp(file, state, eventsToProcess, backlog);
+                return;
+            }
 
             configManager.getConfig().ensureServerChannels(serverName);
 
             for (RawEvent event : eventsToProcess) {
-                String eventHash = generateEventHash(event);
-
-                eventProcessor.processRawEvent(event, discordBot, serverName);
-                state.processedEventHashes.add(eventHash);
-
-                if (eventListener != null) {
-                    eventListener.onEventProcessed(event, serverName);
-                }
-
-                logger.debug("Successfully processed event: {} from server '{}'",
-                        event.getEvent_type(), serverName);
+                dispatch(event, serverName);
             }
 
             logger.info("Processed {} events from server '{}'",
@@ -225,158 +504,359 @@ public class FileWatcher {
         }
     }
 
-    private List<RawEvent> parseRawTextEvents(File file, FileState state) {
-        List<RawEvent> events = new ArrayList<>();
+    private void dispatch(RawEvent event, String serverName) {
+        eventProcessor.processRawEvent(event, outputSink, serverName);
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            int lineNumber = 0;
+        if (eventListener != null) {
+            eventListener.onEventProcessed(event, serverName);
+        }
+
+        logger.debug("Successfully processed event: {} from server '{}'",
+                event.getEvent_type(), serverName);
+    }
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                if (line.trim().isEmpty()) continue;
+    private boolean needsCatchUp(AppConfig config, long backlog, List<RawEvent> events) {
+        if (!config.isCatchUpEnabled()) return false;
+        if (backlog >= config.getCatchUpBacklogBytes()) return true;
+        return timeSpanSeconds(events) >= config.getCatchUpEventAgeSeconds();
+    }
 
-                try {
-                    RawEvent event = parseEventLine(line);
-                    if (event != null) {
-                        String eventHash = generateEventHash(event);
+    // How far apart the oldest and newest events of one read are. Both come from the game host's clock, so a host
+    // running fast or slow against ours cannot make a live read look old; lines without a timestamp are ignored
+    private static long timeSpanSeconds(List<RawEvent> events) {
+        long oldest = Long.MAX_VALUE;
+        long newest = Long.MIN_VALUE;
+        for (RawEvent event : events) {
+            long timestamp = event.getTimestamp();
+            if (timestamp <= 0) continue;
+            oldest = Math.min(oldest, timestamp);
+            newest = Math.max(newest, timestamp);
+        }
+        return newest > oldest ? newest - oldest : 0;
+    }
 
-                        if (!state.processedEventHashes.contains(eventHash)) {
-                            events.add(event);
-                            state.processedEventHashes.add(eventHash);
+    // Hands the file to a catch-up thread until it has read to the end, so live servers keep their turns meanwhile
+    private void startCatchUp(File file, FileState state, List<RawEvent> firstEvents, long backlog) {
+        state.catchingUp = true;
+        Metrics.CATCH_UPS.increment();
+        logger.info("Server '{}' is behind ({} bytes unread, oldest event from {}), catching up",
+                state.serverName, backlog, firstEvents.get(0).getTimestamp());
+        try {
+            catchUpPool.execute(() -> runCatchUp(file, state, firstEvents));
+        } catch (RejectedExecutionException e) {
+            state.catchingUp = false;
+        }
+    }
+
+    // Live types (chat and commands by default) are sent as usual; everything else is counted into one digest
+    private void runCatchUp(File file, FileState state, List<RawEvent> firstEvents) {
+        String serverName = state.serverName;
+        Set<String> liveTypes = new HashSet<>(configManager.getConfig().getCatchUpLiveEvents());
+        Map<String, Integer> summarised = new LinkedHashMap<>();
+        ReadBuffers ownBuffers = new ReadBuffers();
+        int sent = 0;
+        int total = 0;
+
+        try {
+            configManager.getConfig().ensureServerChannels(serverName);
+            List<RawEvent> events = firstEvents;
+            while (true) {
+                for (RawEvent event : events) {
+                    if (liveTypes.contains(event.getEvent_type())) {
+                        dispatch(event, serverName);
+                        sent++;
+                    } else {
+                        // Never reaches the processor, which counts everything else
+                        Metrics.serverEvents(serverName).increment();
+                        // Scores are summarised too, so the game they belonged to has to end here
+                        if (EventProcessor.isGameBoundary(event.getEvent_type())) {
+                            eventProcessor.endGame(serverName);
+                            if (!eventProcessor.isEnabled(serverName, event.getEvent_type())) continue;
                         }
+                        summarised.merge(event.getEvent_type(), 1, Integer::sum);
+                        Metrics.CATCH_UP_SUMMARISED.increment();
                     }
-                } catch (Exception e) {
-                    logger.warn("Failed to parse line {} in file {}: {}", lineNumber, file.getName(), line);
                 }
+                total += events.size();
+
+                if (!state.backlogged || Thread.currentThread().isInterrupted()) break;
+                events = parseRawTextEvents(file, state, serverName, ownBuffers, CATCH_UP_CHUNK_LINES, Long.MAX_VALUE);
             }
 
-            logger.debug("Parsed {} new events from {}", events.size(), file.getName());
+            // Stopped part way through: a digest of what happened to be read so far would be misleading
+            if (Thread.currentThread().isInterrupted()) {
+                logger.info("Catch-up for server '{}' stopped after {} events, no digest sent", serverName, total);
+                return;
+            }
 
+            eventProcessor.processDigest(serverName, summarised, outputSink);
+            logger.info("Server '{}' caught up: {} events read, {} sent live, {} summarised",
+                    serverName, total, sent, total - sent);
         } catch (Exception e) {
-            logger.error("Failed to parse raw text events from file: {}", file.getName(), e);
+            logger.error("Error catching up on file: {}", file.getName(), e);
+        } finally {
+            state.catchingUp = false;
         }
-
-        return events;
     }
 
-    private RawEvent parseEventLine(String line) {
-        String[] parts = line.split("\\|");
-
-        if (parts.length < 1) return null;
-
-        RawEvent event = new RawEvent();
-        Map<String, Object> data = new HashMap<>();
+    private List<RawEvent> parseRawTextEvents(File file, FileState state, String serverName, ReadBuffers buffers,
+                                              int maxLinesPerRead, long maxBytesPerRead) {
+        List<RawEvent> events = new ArrayList<>();
+        FileReadPassEvent readEvent = new FileReadPassEvent();
+        ParseBatchEvent parseEvent = new ParseBatchEvent();
+        readEvent.begin();
+        parseEvent.begin();
+        long bytesRead = 0;
+        int failures = 0;
+        int skipped = 0;
+        long parseNanos = 0;
+        long ioNanos = 0;
+        int maxLines = Math.max(1, maxLinesPerRead);
+        long maxBytes = Math.max(1, maxBytesPerRead);
+        state.backlogged = false;
+
+        // Only the bytes appended since the last poll are read, and only up to the last complete line. A file that
+        // got shorter, or whose bytes just before the offset differ from what was read, was cleared or rewritten
+        // and is read from the start again; a timestamp change alone reads nothing
+        try (FileInputStream in = new FileInputStream(file)) {
+            FileChannel channel = in.getChannel();
+            long size = channel.size();
+            if (size < state.offset) {
+                logger.debug("File {} shrank below the read offset, reading from the start", file.getName());
+                state.resetRead();
+            } else if (!tailMatches(channel, state, buffers)) {
+                logger.info("File {} was rewritten in place, reading it from the start", file.getName());
+                state.resetRead();
+            }
+            state.unreadAtRead = size - state.offset;
+            if (size == state.offset) {
+                Metrics.serverBacklog(serverName).set(0);
+                return events;
+            }
+            channel.position(state.offset);
 
-        event.setEvent_type(parts[0]);
+            Charset charset = Charset.defaultCharset();
+            long position = state.offset;
+            int lineLength = 0;
+            int lineNumber = 0;
+            int n;
+            byte[] readBuffer = buffers.read;
+            byte[] lineBuffer = buffers.line;
+
+            long readStart = System.nanoTime();
+            read:
+            while ((n = in.read(readBuffer)) > 0) {
+                ioNanos += System.nanoTime() - readStart;
+                for (int i = 0; i < n; i++) {
+                    byte b = readBuffer[i];
+                    if (b != '\n') {
+                        if (lineLength == lineBuffer.length) {
+                            lineBuffer = Arrays.copyOf(lineBuffer, lineLength * 2);
+                            buffers.line = lineBuffer;
+                        }
+                        lineBuffer[lineLength++] = b;
+                        continue;
+                    }
 
-        for (int i = 1; i < parts.length; i++) {
-            String part = parts[i];
-            int equalsIndex = part.indexOf('=');
+                    // Out of budget for this turn: leave the rest for the next one
+                    if (lineNumber >= maxLines || bytesRead >= maxBytes) {
+                        state.backlogged = true;
+                        break read;
+                    }
 
-            if (equalsIndex > 0) {
-                String key = part.substring(0, equalsIndex);
-                String value = unescapeValue(part.substring(equalsIndex + 1));
+                    long readNanos = System.nanoTime();
+                    long lineEnd = position + i + 1;
+                    bytesRead += lineEnd - state.offset;
+                    state.offset = lineEnd;
+                    lineNumber++;
+                    int length = lineLength > 0 && lineBuffer[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                    lineLength = 0;
+                    String line = new String(lineBuffer, 0, length, charset);
+                    if (line.trim().isEmpty()) continue;
+
+                    try {
+                        // Disabled types would be dropped by the processor anyway, so do not parse or hash them
+                        String configKey = EventLineParser.peekConfigKey(line);
+                        if (!eventProcessor.isEnabled(serverName, configKey) && !EventProcessor.isGameBoundary(configKey)) {
+                            skipped++;
+                            Metrics.LINES_SKIPPED.increment();
+                            continue;
+                        }
 
-                switch (key) {
-                    case "subtype":
-                        event.setSubtype(value);
-                        break;
-                    case "timestamp":
-                        try {
-                            event.setTimestamp(Long.parseLong(value));
-                        } catch (NumberFormatException e) {
-                            event.setTimestamp(System.currentTimeMillis() / 1000);
+                        RawEvent event = EventLineParser.parseEventLine(line);
+                        if (event != null) {
+                            long parsedNanos = System.nanoTime();
+                            parseNanos += parsedNanos - readNanos;
+                            event.setReadNanos(readNanos);
+                            event.setParsedNanos(parsedNanos);
+                            Metrics.LINES_PARSED.increment();
+                            String eventHash = EventLineParser.generateEventHash(event);
+
+                            if (state.processedEventHashes.add(eventHash)) {
+                                events.add(event);
+                            } else {
+                                Metrics.DEDUP_HITS.increment();
+                            }
                         }
-                        break;
-                    default:
-                        data.put(key, value);
-                        break;
+                    } catch (Exception e) {
+                        failures++;
+                        Metrics.PARSE_FAILURES.increment();
+                        logger.warn("Failed to parse line in file {}: {}", file.getName(), line);
+                    }
                 }
+                position += n;
+                readStart = System.nanoTime();
+            }
+
+            if (bytesRead > 0) {
+                rememberTail(channel, state, buffers);
+            }
+            Metrics.serverBacklog(serverName).set(Math.max(0, size - state.offset));
+            Metrics.BYTES_READ.add(bytesRead);
+            logger.debug("Parsed {} new events from {}", events.size(), file.getName());
+
+            readEvent.end();
+            if (readEvent.shouldCommit()) {
+                readEvent.file = file.getName();
+                readEvent.bytes = bytesRead;
+                readEvent.readTime = ioNanos;
+                readEvent.commit();
+            }
+            parseEvent.end();
+            if (parseEvent.shouldCommit()) {
+                parseEvent.file = file.getName();
+                parseEvent.lines = lineNumber;
+                parseEvent.skipped = skipped;
+                parseEvent.failures = failures;
+                parseEvent.events = events.size();
+                parseEvent.parseTime = parseNanos;
+                parseEvent.commit();
             }
+
+        } catch (Exception e) {
+            logger.error("Failed to parse raw text events from file: {}", file.getName(), e);
         }
 
-        event.setData(data);
-        return event;
+        return events;
     }
 
-    private String unescapeValue(String value) {
-        if (value == null) return "";
-        return value.replace("\\|", "|")
-                .replace("\\n", "\n")
-                .replace("\\r", "\r");
+    private boolean tailMatches(File file, FileState state, ReadBuffers buffers) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.size() >= state.offset && tailMatches(channel, state, buffers);
+        }
     }
 
-    private String generateEventHash(RawEvent event) {
-        try {
-            StringBuilder content = new StringBuilder();
+    private boolean tailMatches(FileChannel channel, FileState state, ReadBuffers buffers) throws IOException {
+        ByteBuffer fingerprintBuffer = buffers.fingerprint;
+        if (state.fingerprintLength == 0) return true;
 
-            content.append(event.getEvent_type()).append(":");
-            if (event.getSubtype() != null) {
-                content.append(event.getSubtype()).append(":");
-            }
-            content.append(event.getTimestamp()).append(":");
-
-            if (event.getData() != null) {
-                switch (event.getEvent_type()) {
-                    case "event_join":
-                    case "event_leave":
-                        if (event.getData().get("name") != null) {
-                            content.append(event.getData().get("name"));
-                        }
-                        if (event.getData().get("id") != null) {
-                            content.append(event.getData().get("id"));
-                        }
-                        break;
-                    case "event_chat":
-                        if (event.getData().get("name") != null) {
-                            content.append(event.getData().get("name"));
-                        }
-                        if (event.getData().get("msg") != null) {
-                            content.append(event.getData().get("msg"));
-                        }
-                        break;
-                    case "event_death":
-                        if (event.getData().get("victimName") != null) {
-                            content.append(event.getData().get("victimName"));
-                        }
-                        if (event.getData().get("killerName") != null) {
-                            content.append(event.getData().get("killerName"));
-                        }
-                        break;
-                    case "event_score":
-                        if (event.getData().get("name") != null) {
-                            content.append(event.getData().get("name"));
-                        }
-                        if (event.getData().get("score") != null) {
-                            content.append(event.getData().get("score"));
-                        }
-                        break;
-                    default:
-                        for (Map.Entry<String, Object> entry : event.getData().entrySet()) {
-                            content.append(entry.getKey()).append(":").append(entry.getValue()).append(":");
-                        }
-                }
-            }
+        fingerprintBuffer.clear().limit(state.fingerprintLength);
+        long position = state.offset - state.fingerprintLength;
+        while (fingerprintBuffer.hasRemaining()) {
+            int n = channel.read(fingerprintBuffer, position + fingerprintBuffer.position());
+            if (n < 0) return false;
+        }
+        for (int i = 0; i < state.fingerprintLength; i++) {
+            if (fingerprintBuffer.get(i) != state.fingerprint[i]) return false;
+        }
+        return true;
+    }
 
-            return Integer.toHexString(content.toString().hashCode());
+    // Keeps the last bytes consumed so the next read can tell an append from a rewrite
+    private void rememberTail(FileChannel channel, FileState state, ReadBuffers buffers) throws IOException {
+        ByteBuffer fingerprintBuffer = buffers.fingerprint;
+        int length = (int) Math.min(FINGERPRINT_SIZE, state.offset);
+        fingerprintBuffer.clear().limit(length);
+        long position = state.offset - length;
+        while (fingerprintBuffer.hasRemaining()) {
+            if (channel.read(fingerprintBuffer, position + fingerprintBuffer.position()) < 0) break;
+        }
+        fingerprintBuffer.flip();
+        state.fingerprintLength = fingerprintBuffer.remaining();
+        fingerprintBuffer.get(state.fingerprint, 0, state.fingerprintLength);
+    }
 
-        } catch (Exception e) {
-            return event.getEvent_type() + "_" + UUID.randomUUID().toString().substring(0, 8);
+    private long dedupSetSize() {
+        long total = 0;
+        for (FileState state : fileStates.values()) {
+            total += state.processedEventHashes.size();
         }
+        return total;
     }
 
     public interface EventListener {
         void onEventProcessed(RawEvent event, String serverName);
     }
 
+    // Reused between reads by one thread: the scheduler has its own, every catch-up gets a fresh set
+    private static class ReadBuffers {
+        final byte[] read = new byte[READ_BUFFER_SIZE];
+        final ByteBuffer fingerprint = ByteBuffer.allocate(FINGERPRINT_SIZE);
+        byte[] line = new byte[1024];
+    }
+
+    private static class Root {
+        final File directory;
+        final String prefix;
+        final long maxFileSize;
+        // Set while a change reported by the OS is queued, so a burst of notifications reads the directory once
+        final AtomicBoolean pending = new AtomicBoolean();
+        boolean watchMode;
+        long nextListing;
+        WatchKey watchKey;
+
+        Root(WatchRoot config, File directory) {
+            this.directory = directory;
+            this.prefix = config.getServerPrefix() != null ? config.getServerPrefix() : "";
+            this.maxFileSize = config.getMaxFileSize();
+            this.watchMode = WatchRoot.MODE_WATCH.equalsIgnoreCase(config.getMode());
+            if (!watchMode && config.getMode() != null && !WatchRoot.MODE_POLL.equalsIgnoreCase(config.getMode())) {
+                logger.warn("Unknown watch mode '{}' for {}, polling it", config.getMode(), config.getDirectory());
+            }
+        }
+
+        String serverName(File file) {
+            return prefix + file.getName().replace(".txt", "");
+        }
+    }
+
     private static class FileState {
+        final Root root;
+        final File file;
+        final String path;
+        final String serverName;
+        final byte[] fingerprint = new byte[FINGERPRINT_SIZE];
+        int fingerprintLength;
+        Object fileKey;
         long lastModified;
         long fileSize;
-        Set<String> processedEventHashes;
+        long offset;
+        long interval;
+        long nextCheck;
+        // Bytes left to read when the last read started, after any reset for a cleared or rewritten file
+        long unreadAtRead;
+        // The last read stopped at the turn budget with complete lines still unread
+        volatile boolean backlogged;
+        // A catch-up thread owns the file until it has read to the end
+        volatile boolean catchingUp;
+        // Recent hashes only: lines are never read twice unless the file is rewritten, so an unbounded set is a leak
+        final Set<String> processedEventHashes = Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_TRACKED_HASHES;
+            }
+        });
+
+        FileState(Root root, File file) {
+            this.root = root;
+            this.file = file;
+            this.path = file.getAbsolutePath();
+            this.serverName = root.serverName(file);
+        }
 
-        FileState() {
-            this.processedEventHashes = new HashSet<>();
+        void resetRead() {
+            offset = 0;
+            fingerprintLength = 0;
         }
     }
 }
\ No newline at end of file
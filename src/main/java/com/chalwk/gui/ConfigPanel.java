@@ -21,7 +21,14 @@ public class ConfigPanel extends JPanel {
     private JPasswordField discordTokenField;
     private JTextField watchDirectoryField;
     private JCheckBox autoStartCheckbox;
+    private JCheckBox clearOnStartupCheckbox;
+    private JCheckBox shadowModeCheckbox;
     private JSpinner pollIntervalSpinner;
+    private JSpinner minPollIntervalSpinner;
+    private JSpinner maxPollIntervalSpinner;
+    private JSpinner eventLogCapacitySpinner;
+    private JCheckBox metricsEnabledCheckbox;
+    private JSpinner metricsPortSpinner;
     private JCheckBox showTokenCheckbox;
 
     public ConfigPanel(ConfigManager configManager) {
@@ -115,13 +122,88 @@ public class ConfigPanel extends JPanel {
 
         gbc.gridy = 6;
         gbc.insets = new Insets(2, 8, 8, 8);
-        JLabel pollHelp = new JLabel("<html><i>How often to check for new events (lower = faster detection, higher = less CPU usage)</i></html>");
+        JLabel pollHelp = new JLabel("<html><i>How often to look for new event files</i></html>");
         pollHelp.setForeground(Color.GRAY);
         pollHelp.setFont(pollHelp.getFont().deriveFont(10f));
         mainPanel.add(pollHelp, gbc);
 
         gbc.gridx = 0;
         gbc.gridy = 7;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(8, 8, 8, 8);
+        JLabel adaptiveLabel = new JLabel("File Check Interval (ms):");
+        adaptiveLabel.setFont(adaptiveLabel.getFont().deriveFont(Font.BOLD));
+        mainPanel.add(adaptiveLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        JPanel adaptivePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        minPollIntervalSpinner = new JSpinner(new SpinnerNumberModel(100, 10, 10000, 50));
+        maxPollIntervalSpinner = new JSpinner(new SpinnerNumberModel(3000, 100, 60000, 500));
+        adaptivePanel.add(new JLabel("active"));
+        adaptivePanel.add(minPollIntervalSpinner);
+        adaptivePanel.add(new JLabel("idle up to"));
+        adaptivePanel.add(maxPollIntervalSpinner);
+        mainPanel.add(adaptivePanel, gbc);
+
+        gbc.gridy = 8;
+        gbc.insets = new Insets(2, 8, 8, 8);
+        JLabel adaptiveHelp = new JLabel("<html><i>Files that are being written to are checked at the active interval; idle files back off to the idle limit (lower = faster detection, higher = less CPU usage)</i></html>");
+        adaptiveHelp.setForeground(Color.GRAY);
+        adaptiveHelp.setFont(adaptiveHelp.getFont().deriveFont(10f));
+        mainPanel.add(adaptiveHelp, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 9;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(8, 8, 8, 8);
+        JLabel logSizeLabel = new JLabel("Event Log Size (rows):");
+        logSizeLabel.setFont(logSizeLabel.getFont().deriveFont(Font.BOLD));
+        mainPanel.add(logSizeLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        eventLogCapacitySpinner = new JSpinner(new SpinnerNumberModel(10000, 100, 1000000, 1000));
+        mainPanel.add(eventLogCapacitySpinner, gbc);
+
+        gbc.gridy = 10;
+        gbc.insets = new Insets(2, 8, 8, 8);
+        JLabel logSizeHelp = new JLabel("<html><i>Oldest rows are discarded once the Event Log holds this many events (applies after restart)</i></html>");
+        logSizeHelp.setForeground(Color.GRAY);
+        logSizeHelp.setFont(logSizeHelp.getFont().deriveFont(10f));
+        mainPanel.add(logSizeHelp, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 11;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(8, 8, 8, 8);
+        metricsEnabledCheckbox = new JCheckBox("Metrics endpoint port:");
+        metricsEnabledCheckbox.setFont(metricsEnabledCheckbox.getFont().deriveFont(Font.BOLD));
+        mainPanel.add(metricsEnabledCheckbox, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        metricsPortSpinner = new JSpinner(new SpinnerNumberModel(9464, 1024, 65535, 1));
+        metricsPortSpinner.setEditor(new JSpinner.NumberEditor(metricsPortSpinner, "#"));
+        mainPanel.add(metricsPortSpinner, gbc);
+
+        gbc.gridy = 12;
+        gbc.insets = new Insets(2, 8, 8, 8);
+        JLabel metricsHelp = new JLabel("<html><i>Serves Prometheus metrics at http://127.0.0.1:&lt;port&gt;/metrics (applies after restart)</i></html>");
+        metricsHelp.setForeground(Color.GRAY);
+        metricsHelp.setFont(metricsHelp.getFont().deriveFont(10f));
+        mainPanel.add(metricsHelp, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 13;
+        gbc.gridwidth = 3;
+        gbc.insets = new Insets(8, 8, 8, 8);
+        shadowModeCheckbox = new JCheckBox("Shadow mode (render and count events, send nothing to Discord)");
+        shadowModeCheckbox.setFont(shadowModeCheckbox.getFont().deriveFont(Font.BOLD));
+        mainPanel.add(shadowModeCheckbox, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 14;
         gbc.gridwidth = 3;
         gbc.insets = new Insets(8, 8, 8, 8);
         autoStartCheckbox = new JCheckBox("Start bot automatically on application launch");
@@ -129,7 +211,15 @@ public class ConfigPanel extends JPanel {
         mainPanel.add(autoStartCheckbox, gbc);
 
         gbc.gridx = 0;
-        gbc.gridy = 8;
+        gbc.gridy = 15;
+        gbc.gridwidth = 3;
+        gbc.insets = new Insets(8, 8, 8, 8);
+        clearOnStartupCheckbox = new JCheckBox("Clear event files on startup (otherwise catch up on them)");
+        clearOnStartupCheckbox.setFont(clearOnStartupCheckbox.getFont().deriveFont(Font.BOLD));
+        mainPanel.add(clearOnStartupCheckbox, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 16;
         gbc.gridwidth = 3;
         gbc.anchor = GridBagConstraints.CENTER;
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
@@ -191,17 +281,37 @@ public class ConfigPanel extends JPanel {
         AppConfig config = configManager.getConfig();
         discordTokenField.setText(config.getDiscordToken());
         watchDirectoryField.setText(config.getWatchDirectory());
+        // Several roots can only be edited in the config file; the single directory is unused while they are set
+        boolean hasWatchRoots = !config.getWatchRoots().isEmpty();
+        watchDirectoryField.setEnabled(!hasWatchRoots);
+        watchDirectoryField.setToolTipText(hasWatchRoots
+                ? config.getWatchRoots().size() + " watch roots in sapp_bot_config.json are used instead" : null);
         pollIntervalSpinner.setValue(config.getPollInterval());
+        minPollIntervalSpinner.setValue(config.getMinPollInterval());
+        maxPollIntervalSpinner.setValue(config.getMaxPollInterval());
+        eventLogCapacitySpinner.setValue(config.getEventLogCapacity());
+        metricsEnabledCheckbox.setSelected(config.isMetricsEnabled());
+        metricsPortSpinner.setValue(config.getMetricsPort());
+        shadowModeCheckbox.setSelected(config.isShadowMode());
         autoStartCheckbox.setSelected(config.isAutoStart());
+        clearOnStartupCheckbox.setSelected(config.isClearOnStartup());
     }
 
     private void saveConfig() {
         try {
-            AppConfig config = new AppConfig();
+            // Update in place so settings owned by other tabs (channels, templates) are kept
+            AppConfig config = configManager.getConfig();
             config.setDiscordToken(new String(discordTokenField.getPassword()).trim());
             config.setWatchDirectory(watchDirectoryField.getText().trim());
             config.setPollInterval((Integer) pollIntervalSpinner.getValue());
+            config.setMinPollInterval((Integer) minPollIntervalSpinner.getValue());
+            config.setMaxPollInterval((Integer) maxPollIntervalSpinner.getValue());
+            config.setEventLogCapacity((Integer) eventLogCapacitySpinner.getValue());
+            config.setMetricsEnabled(metricsEnabledCheckbox.isSelected());
+            config.setMetricsPort((Integer) metricsPortSpinner.getValue());
+            config.setShadowMode(shadowModeCheckbox.isSelected());
             config.setAutoStart(autoStartCheckbox.isSelected());
+            config.setClearOnStartup(clearOnStartupCheckbox.isSelected());
 
             configManager.saveConfig(config);
             JOptionPane.showMessageDialog(this,
@@ -230,7 +340,14 @@ public class ConfigPanel extends JPanel {
                 config.setDiscordToken("");
                 config.setWatchDirectory("./discord_events");
                 config.setPollInterval(1000);
+                config.setMinPollInterval(100);
+                config.setMaxPollInterval(3000);
+                config.setEventLogCapacity(10000);
+                config.setMetricsEnabled(false);
+                config.setMetricsPort(9464);
+                config.setShadowMode(false);
                 config.setAutoStart(false);
+                config.setClearOnStartup(true);
 
                 configManager.saveConfig(config);
                 loadConfig();
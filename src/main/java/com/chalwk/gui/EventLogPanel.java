@@ -10,26 +10,51 @@ import com.chalwk.model.RawEvent;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class EventLogPanel extends JPanel {
 
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    // Producers only stage entries; the EDT picks them up in one batch per tick
+    private static final int DRAIN_INTERVAL_MS = 100;
+    private static final String ALL = "All";
+
     private final EventTableModel tableModel;
     private final JTable eventTable;
     private final JCheckBox autoScrollCheckbox;
-
-    public EventLogPanel() {
+    private final JComboBox<String> serverFilter = new JComboBox<>(new String[]{ALL});
+    private final JComboBox<String> typeFilter = new JComboBox<>(new String[]{ALL});
+    private final JTextField subtypeFilter = new JTextField(4);
+    private final JTextField searchField = new JTextField(15);
+    private final Timer filterDebounce = new Timer(250, e -> applyFilter());
+    private boolean updatingFilterChoices;
+    private final Queue<EventLogEntry> stagedEntries = new ConcurrentLinkedQueue<>();
+    private final DrainStats drainStats = new DrainStats();
+
+    public EventLogPanel(int capacity) {
         setLayout(new BorderLayout());
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        tableModel = new EventTableModel();
+        tableModel = new EventTableModel(capacity);
         eventTable = new JTable(tableModel);
 
         eventTable.setFillsViewportHeight(true);
@@ -45,7 +70,10 @@ public class EventLogPanel extends JPanel {
         eventTable.getTableHeader().setForeground(Color.BLACK);
         eventTable.getTableHeader().setReorderingAllowed(false);
 
-        eventTable.setAutoCreateRowSorter(true);
+        // Filtering happens in the model; the sorter only orders the already filtered rows. The model only ever
+        // inserts and deletes rows (evictions included), which the sorter handles incrementally
+        TableRowSorter<EventTableModel> sorter = new TableRowSorter<>(tableModel);
+        eventTable.setRowSorter(sorter);
         eventTable.setDefaultRenderer(Object.class, new EventLogCellRenderer());
 
         JScrollPane scrollPane = new JScrollPane(eventTable);
@@ -72,55 +100,242 @@ public class EventLogPanel extends JPanel {
         controlPanel.add(Box.createHorizontalStrut(20));
         controlPanel.add(clearButton);
 
-        add(controlPanel, BorderLayout.NORTH);
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(controlPanel, BorderLayout.NORTH);
+        topPanel.add(createFilterPanel(), BorderLayout.SOUTH);
+
+        add(topPanel, BorderLayout.NORTH);
         add(scrollPane, BorderLayout.CENTER);
+
+        Timer drainTimer = new Timer(DRAIN_INTERVAL_MS, e -> drainStagedEntries());
+        drainTimer.setCoalesce(true);
+        drainTimer.start();
     }
 
-    public void addEvent(RawEvent event, String serverName, String status) {
-        SwingUtilities.invokeLater(() -> {
-            tableModel.addEvent(event, serverName, status);
-            if (autoScrollCheckbox.isSelected()) {
-                scrollToBottom();
+    private JPanel createFilterPanel() {
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
+
+        serverFilter.setPreferredSize(new Dimension(130, 25));
+        typeFilter.setPreferredSize(new Dimension(150, 25));
+        serverFilter.addActionListener(e -> applyFilterFromChoice());
+        typeFilter.addActionListener(e -> applyFilterFromChoice());
+
+        filterDebounce.setRepeats(false);
+        DocumentListener debounce = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filterDebounce.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filterDebounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                filterDebounce.restart();
+            }
+        };
+        subtypeFilter.getDocument().addDocumentListener(debounce);
+        searchField.getDocument().addDocumentListener(debounce);
+
+        JButton resetButton = new JButton("Reset Filters");
+        resetButton.setFocusPainted(false);
+        resetButton.addActionListener(e -> resetFilters());
+
+        filterPanel.add(new JLabel("Server:"));
+        filterPanel.add(serverFilter);
+        filterPanel.add(new JLabel("Event Type:"));
+        filterPanel.add(typeFilter);
+        filterPanel.add(new JLabel("Subtype:"));
+        filterPanel.add(subtypeFilter);
+        filterPanel.add(new JLabel("Search:"));
+        filterPanel.add(searchField);
+        filterPanel.add(resetButton);
+        return filterPanel;
+    }
+
+    private void applyFilterFromChoice() {
+        if (!updatingFilterChoices) {
+            applyFilter();
+        }
+    }
+
+    private void applyFilter() {
+        filterDebounce.stop();
+        tableModel.setFilter(new LogFilter(
+                choice(serverFilter),
+                choice(typeFilter),
+                blankToNull(subtypeFilter.getText()),
+                blankToNull(searchField.getText())
+        ));
+        if (autoScrollCheckbox.isSelected()) {
+            scrollToBottom();
+        }
+    }
+
+    private void resetFilters() {
+        updatingFilterChoices = true;
+        serverFilter.setSelectedItem(ALL);
+        typeFilter.setSelectedItem(ALL);
+        subtypeFilter.setText("");
+        searchField.setText("");
+        updatingFilterChoices = false;
+        applyFilter();
+    }
+
+    private void refreshFilterChoices() {
+        updatingFilterChoices = true;
+        syncChoices(serverFilter, tableModel.getServers());
+        syncChoices(typeFilter, tableModel.getEventTypes());
+        updatingFilterChoices = false;
+    }
+
+    private static void syncChoices(JComboBox<String> combo, Iterable<String> values) {
+        DefaultComboBoxModel<String> model = (DefaultComboBoxModel<String>) combo.getModel();
+        for (String value : values) {
+            if (model.getIndexOf(value) < 0) {
+                model.addElement(value);
             }
-        });
+        }
+    }
+
+    private static String choice(JComboBox<String> combo) {
+        Object selected = combo.getSelectedItem();
+        return selected == null || ALL.equals(selected) ? null : selected.toString();
+    }
+
+    private static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    public void addEvent(RawEvent event, String serverName, String status) {
+        stagedEntries.add(new EventLogEntry(System.currentTimeMillis(), System.nanoTime(), event,
+                Objects.requireNonNullElse(serverName, ""), status));
     }
 
     public void clearLog() {
+        // Entries staged before the click belong to the log being cleared
+        stagedEntries.clear();
         tableModel.clearEvents();
     }
 
+    public DrainStats getDrainStats() {
+        return drainStats;
+    }
+
+    private void drainStagedEntries() {
+        if (stagedEntries.isEmpty()) return;
+
+        List<EventLogEntry> batch = new ArrayList<>();
+        EventLogEntry entry;
+        while ((entry = stagedEntries.poll()) != null) {
+            batch.add(entry);
+        }
+
+        if (tableModel.addEntries(batch)) {
+            refreshFilterChoices();
+        }
+        if (autoScrollCheckbox.isSelected()) {
+            scrollToBottom();
+        }
+
+        // The queue is FIFO, so the first entry of the batch is the one that waited longest
+        drainStats.record(batch.size(), System.nanoTime() - batch.get(0).stagedNanos());
+    }
+
     private void scrollToBottom() {
-        SwingUtilities.invokeLater(() -> {
-            int lastRow = tableModel.getRowCount() - 1;
-            if (lastRow >= 0) {
-                eventTable.scrollRectToVisible(eventTable.getCellRect(lastRow, 0, true));
-            }
-        });
+        int lastRow = tableModel.getRowCount() - 1;
+        if (lastRow >= 0) {
+            eventTable.scrollRectToVisible(eventTable.getCellRect(lastRow, 0, true));
+        }
+    }
+
+    // Time from the oldest staged entry of a batch until that batch is visible in the table, measured on the EDT
+    public static class DrainStats {
+        private long batches;
+        private long events;
+        private long totalLatencyNanos;
+        private long maxLatencyNanos;
+
+        private synchronized void record(int batchSize, long latencyNanos) {
+            batches++;
+            events += batchSize;
+            totalLatencyNanos += latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+        }
+
+        public synchronized long getBatches() {
+            return batches;
+        }
+
+        public synchronized long getEvents() {
+            return events;
+        }
+
+        public synchronized double getAverageLatencyMillis() {
+            return batches == 0 ? 0 : totalLatencyNanos / (batches * 1_000_000.0);
+        }
+
+        public synchronized double getMaxLatencyMillis() {
+            return maxLatencyNanos / 1_000_000.0;
+        }
+
+        public synchronized void reset() {
+            batches = 0;
+            events = 0;
+            totalLatencyNanos = 0;
+            maxLatencyNanos = 0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d events in %d batches, staging latency avg %.1f ms, max %.1f ms",
+                    events, batches, getAverageLatencyMillis(), getMaxLatencyMillis());
+        }
     }
 
-    private static class EventLogEntry {
-        String timestamp;
-        String serverName;
-        String eventType;
-        String subtype;
-        String content;
-        String status;
+    private record LogFilter(String server, String eventType, String subtype, String text) {
+
+        static final LogFilter NONE = new LogFilter(null, null, null, null);
+
+        LogFilter {
+            text = text != null ? text.toLowerCase(Locale.ROOT) : null;
+        }
 
-        EventLogEntry(RawEvent event, String serverName, String status) {
-            this.timestamp = new SimpleDateFormat("HH:mm:ss").format(new Date());
-            this.serverName = serverName;
-            this.eventType = event.getEvent_type();
-            this.subtype = event.getSubtype();
-            this.status = status;
+        boolean isEmpty() {
+            return server == null && eventType == null && subtype == null && text == null;
+        }
 
-            this.content = buildContentFromData(event.getData());
+        boolean matches(EventLogEntry entry) {
+            if (server != null && !server.equals(entry.serverName())) return false;
+            if (eventType != null && !eventType.equals(entry.eventType())) return false;
+            if (subtype != null && !subtype.equals(entry.event().getSubtype())) return false;
+            return text == null || entry.fullContent().toLowerCase(Locale.ROOT).contains(text);
+        }
+    }
 
-            if (this.content.length() > 100) {
-                this.content = this.content.substring(0, 97) + "...";
+    // Rows hold references only; display strings are built in getValueAt for rows that are actually painted
+    private record EventLogEntry(long epochMillis, long stagedNanos, RawEvent event, String serverName,
+                                 String status) {
+
+        String eventType() {
+            return Objects.requireNonNullElse(event.getEvent_type(), "");
+        }
+
+        // Cut to fit the Content column; searching uses fullContent()
+        String content() {
+            String content = fullContent();
+            if (content.length() > 100) {
+                content = content.substring(0, 97) + "...";
             }
+            return content;
         }
 
-        private String buildContentFromData(Map<String, Object> data) {
+        String fullContent() {
+            Map<String, Object> data = event.getData();
             if (data == null || data.isEmpty()) {
                 return "No data";
             }
@@ -131,11 +346,6 @@ public class EventLogPanel extends JPanel {
                     sb.append(", ");
                 }
                 sb.append(entry.getKey()).append(": ").append(entry.getValue());
-
-                if (sb.length() > 80) {
-                    sb.append("...");
-                    break;
-                }
             }
             return sb.toString();
         }
@@ -168,24 +378,188 @@ public class EventLogPanel extends JPanel {
         }
     }
 
+    // Growable ring of ascending row sequence numbers, trimmed from the front as the log evicts old rows
+    private static final class SequenceList {
+        private long[] values = new long[16];
+        private int head;
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                long[] grown = new long[values.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = get(i);
+                }
+                values = grown;
+                head = 0;
+            }
+            values[(head + size) & (values.length - 1)] = value;
+            size++;
+        }
+
+        long get(int index) {
+            return values[(head + index) & (values.length - 1)];
+        }
+
+        void removeFirst() {
+            head = (head + 1) & (values.length - 1);
+            size--;
+        }
+
+        int removeBelow(long sequence) {
+            int removed = 0;
+            while (size > 0 && get(0) < sequence) {
+                removeFirst();
+                removed++;
+            }
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
     private static class EventTableModel extends AbstractTableModel {
         private final String[] columnNames = {"Time", "Server", "Event Type", "Subtype", "Content", "Status"};
-        private final List<EventLogEntry> events = new ArrayList<>();
+        private final EventLogEntry[] entries;
+        private final Map<String, SequenceList> serverIndex = new TreeMap<>();
+        private final Map<String, SequenceList> typeIndex = new TreeMap<>();
+        private int head;
+        private int size;
+        private long firstSequence;
+        private LogFilter filter = LogFilter.NONE;
+        private SequenceList view;
+
+        EventTableModel(int capacity) {
+            this.entries = new EventLogEntry[Math.max(1, capacity)];
+        }
+
+        // Returns true when the batch introduced a server or event type not seen before
+        public boolean addEntries(List<EventLogEntry> batch) {
+            int capacity = entries.length;
+            int skip = Math.max(0, batch.size() - capacity);
+            int incoming = batch.size() - skip;
+            int evicted = Math.max(0, size + incoming - capacity);
+
+            // Evict first so listeners always see a row count that matches the event being fired
+            if (evicted > 0) {
+                for (int i = 0; i < evicted; i++) {
+                    int slot = (head + i) % capacity;
+                    serverIndex.get(entries[slot].serverName()).removeFirst();
+                    typeIndex.get(entries[slot].eventType()).removeFirst();
+                    entries[slot] = null;
+                }
+                head = (head + evicted) % capacity;
+                size -= evicted;
+                firstSequence += evicted;
 
-        public void addEvent(RawEvent event, String serverName, String status) {
-            events.add(new EventLogEntry(event, serverName, status));
-            fireTableRowsInserted(events.size() - 1, events.size() - 1);
+                int removedRows = view != null ? view.removeBelow(firstSequence) : evicted;
+                if (removedRows > 0) {
+                    fireTableRowsDeleted(0, removedRows - 1);
+                }
+            }
+
+            boolean newKeys = false;
+            int firstNewRow = getRowCount();
+            for (int i = skip; i < batch.size(); i++) {
+                EventLogEntry entry = batch.get(i);
+                long sequence = firstSequence + size;
+                entries[(head + size) % capacity] = entry;
+                size++;
+
+                newKeys |= index(serverIndex, entry.serverName(), sequence);
+                newKeys |= index(typeIndex, entry.eventType(), sequence);
+
+                if (view != null && filter.matches(entry)) {
+                    view.add(sequence);
+                }
+            }
+
+            if (getRowCount() > firstNewRow) {
+                fireTableRowsInserted(firstNewRow, getRowCount() - 1);
+            }
+            return newKeys;
+        }
+
+        private static boolean index(Map<String, SequenceList> index, String key, long sequence) {
+            SequenceList list = index.get(key);
+            boolean created = list == null;
+            if (created) {
+                list = new SequenceList();
+                index.put(key, list);
+            }
+            list.add(sequence);
+            return created;
+        }
+
+        public void setFilter(LogFilter newFilter) {
+            filter = newFilter;
+            if (newFilter.isEmpty()) {
+                view = null;
+            } else {
+                view = new SequenceList();
+                SequenceList candidates = narrowestIndex(newFilter);
+                if (candidates != null) {
+                    for (int i = 0; i < candidates.size(); i++) {
+                        addIfMatches(candidates.get(i));
+                    }
+                } else if (newFilter.server() == null && newFilter.eventType() == null) {
+                    for (long sequence = firstSequence; sequence < firstSequence + size; sequence++) {
+                        addIfMatches(sequence);
+                    }
+                }
+            }
+            fireTableDataChanged();
+        }
+
+        // The smaller of the server and type row lists, or null when neither applies or the key is unknown
+        private SequenceList narrowestIndex(LogFilter filter) {
+            SequenceList byServer = filter.server() != null ? serverIndex.get(filter.server()) : null;
+            SequenceList byType = filter.eventType() != null ? typeIndex.get(filter.eventType()) : null;
+            if (byServer == null) return byType;
+            if (byType == null) return byServer;
+            return byServer.size() <= byType.size() ? byServer : byType;
+        }
+
+        private void addIfMatches(long sequence) {
+            if (filter.matches(entryForSequence(sequence))) {
+                view.add(sequence);
+            }
+        }
+
+        public Iterable<String> getServers() {
+            return serverIndex.keySet();
+        }
+
+        public Iterable<String> getEventTypes() {
+            return typeIndex.keySet();
         }
 
         public void clearEvents() {
-            int size = events.size();
-            events.clear();
-            fireTableRowsDeleted(0, size - 1);
+            Arrays.fill(entries, null);
+            serverIndex.clear();
+            typeIndex.clear();
+            firstSequence += size;
+            head = 0;
+            size = 0;
+            if (view != null) {
+                view = new SequenceList();
+            }
+            fireTableDataChanged();
+        }
+
+        private EventLogEntry entryForSequence(long sequence) {
+            return entries[(int) ((head + (sequence - firstSequence)) % entries.length)];
+        }
+
+        private EventLogEntry getEntry(int rowIndex) {
+            return view != null ? entryForSequence(view.get(rowIndex)) : entries[(head + rowIndex) % entries.length];
         }
 
         @Override
         public int getRowCount() {
-            return events.size();
+            return view != null ? view.size() : size;
         }
 
         @Override
@@ -200,18 +574,18 @@ public class EventLogPanel extends JPanel {
 
         @Override
         public Object getValueAt(int rowIndex, int columnIndex) {
-            if (rowIndex >= events.size()) return "";
+            if (rowIndex >= getRowCount()) return "";
 
-            EventLogEntry entry = events.get(rowIndex);
+            EventLogEntry entry = getEntry(rowIndex);
             return switch (columnIndex) {
-                case 0 -> entry.timestamp;
-                case 1 -> entry.serverName;
-                case 2 -> entry.eventType;
-                case 3 -> entry.subtype != null ? entry.subtype : "";
-                case 4 -> entry.content;
-                case 5 -> entry.status;
+                case 0 -> TIME_FORMAT.format(Instant.ofEpochMilli(entry.epochMillis()));
+                case 1 -> entry.serverName();
+                case 2 -> entry.eventType();
+                case 3 -> entry.event().getSubtype() != null ? entry.event().getSubtype() : "";
+                case 4 -> entry.content();
+                case 5 -> entry.status();
                 default -> "";
             };
         }
     }
-}
\ No newline at end of file
+}
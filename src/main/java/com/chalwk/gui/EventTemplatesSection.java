@@ -9,6 +9,7 @@ package com.chalwk.gui;
 import com.chalwk.config.AppConfig;
 import com.chalwk.config.ConfigManager;
 import com.chalwk.config.EventConfig;
+import com.chalwk.output.OutputSink;
 
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
@@ -29,13 +30,7 @@ public class EventTemplatesSection extends JPanel {
         Map<String, EventConfig> workingConfigs = new HashMap<>();
 
         for (Map.Entry<String, EventConfig> entry : baseConfigs.entrySet()) {
-            workingConfigs.put(entry.getKey(), new EventConfig(
-                    entry.getValue().isEnabled(),
-                    entry.getValue().getTemplate(),
-                    entry.getValue().getColor(),
-                    entry.getValue().isUseEmbed(),
-                    entry.getValue().getChannelId()
-            ));
+            workingConfigs.put(entry.getKey(), new EventConfig(entry.getValue()));
         }
 
         if (!"Global".equals(serverName)) {
@@ -67,6 +62,11 @@ public class EventTemplatesSection extends JPanel {
         eventTable.getColumnModel().getColumn(3).setPreferredWidth(80);
         eventTable.getColumnModel().getColumn(4).setPreferredWidth(80);
         eventTable.getColumnModel().getColumn(5).setPreferredWidth(100);
+        eventTable.getColumnModel().getColumn(6).setPreferredWidth(80);
+        eventTable.getColumnModel().getColumn(6).setCellEditor(new DefaultCellEditor(new JComboBox<>(new String[]{
+                OutputSink.DISCORD, OutputSink.WEBHOOK, OutputSink.REST, OutputSink.SHADOW, OutputSink.FILE,
+                OutputSink.NULL})));
+        eventTable.getColumnModel().getColumn(7).setPreferredWidth(60);
 
         JScrollPane scrollPane = new JScrollPane(eventTable);
         scrollPane.setPreferredSize(new Dimension(800, 400));
@@ -99,7 +99,7 @@ public class EventTemplatesSection extends JPanel {
 
     public static class EventTemplateTableModel extends AbstractTableModel {
         private final String[] columnNames = {
-                "Enabled", "Event Type", "Template", "Color", "Use Embed", "Channel"
+                "Enabled", "Event Type", "Template", "Color", "Use Embed", "Channel", "Output", "Live"
         };
 
         private final Map<String, EventConfig> eventConfigs;
@@ -136,7 +136,7 @@ public class EventTemplatesSection extends JPanel {
         @Override
         public Class<?> getColumnClass(int columnIndex) {
             return switch (columnIndex) {
-                case 0, 4 -> Boolean.class;
+                case 0, 4, 7 -> Boolean.class;
                 default -> String.class;
             };
         }
@@ -158,6 +158,8 @@ public class EventTemplatesSection extends JPanel {
                 case 3 -> config.getColor() != null ? config.getColor() : "Default";
                 case 4 -> config.isUseEmbed();
                 case 5 -> config.getChannelId();
+                case 6 -> config.getSink() != null ? config.getSink() : OutputSink.DISCORD;
+                case 7 -> config.isLiveMessage();
                 default -> "";
             };
         }
@@ -173,6 +175,8 @@ public class EventTemplatesSection extends JPanel {
                 case 3 -> config.setColor(aValue.equals("Default") ? null : (String) aValue);
                 case 4 -> config.setUseEmbed((Boolean) aValue);
                 case 5 -> config.setChannelId((String) aValue);
+                case 6 -> config.setSink(OutputSink.DISCORD.equals(aValue) ? null : (String) aValue);
+                case 7 -> config.setLiveMessage((Boolean) aValue);
             }
 
             fireTableCellUpdated(rowIndex, columnIndex);
@@ -207,6 +211,8 @@ public class EventTemplatesSection extends JPanel {
                     currentConfig.setColor(defaultConfigValue.getColor());
                     currentConfig.setUseEmbed(defaultConfigValue.isUseEmbed());
                     currentConfig.setChannelId(defaultConfigValue.getChannelId());
+                    currentConfig.setSink(defaultConfigValue.getSink());
+                    currentConfig.setLiveMessage(defaultConfigValue.isLiveMessage());
                 }
             }
 
@@ -0,0 +1,107 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.gui;
+
+import com.chalwk.metrics.LatencyHistogram;
+import com.chalwk.metrics.LatencyTracker;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LatencyStatsDialog extends JDialog {
+
+    private final LatencyTableModel tableModel = new LatencyTableModel();
+
+    public LatencyStatsDialog(Frame owner) {
+        super(owner, "Latency Statistics", false);
+        setLayout(new BorderLayout());
+
+        JTable table = new JTable(tableModel);
+        table.setRowHeight(22);
+        table.setAutoCreateRowSorter(true);
+        table.getTableHeader().setReorderingAllowed(false);
+
+        JLabel helpLabel = new JLabel("<html><i>Pipeline: line read until Discord acknowledged the message. " +
+                "End-to-end: game event timestamp (whole seconds) until acknowledgement.</i></html>");
+        helpLabel.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> tableModel.refresh());
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            LatencyTracker.global().reset();
+            tableModel.refresh();
+        });
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(resetButton);
+
+        add(helpLabel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        tableModel.refresh();
+        setSize(1000, 400);
+        setLocationRelativeTo(owner);
+    }
+
+    private static class LatencyTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"Server", "Event Type", "Delivered", "Parse p99", "Render p99",
+                "Discord p50", "Discord p99", "Pipeline p50", "Pipeline p99", "Pipeline max",
+                "End-to-end p50", "End-to-end p99", "End-to-end max"};
+        private List<LatencyTracker.Snapshot> rows = new ArrayList<>();
+
+        void refresh() {
+            rows = LatencyTracker.global().snapshot();
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            LatencyTracker.Snapshot row = rows.get(rowIndex);
+            LatencyTracker.StageHistograms s = row.stages();
+            return switch (columnIndex) {
+                case 0 -> row.serverName();
+                case 1 -> row.eventType();
+                case 2 -> s.discord.getCount();
+                case 3 -> p(s.parse, 99);
+                case 4 -> p(s.render, 99);
+                case 5 -> p(s.discord, 50);
+                case 6 -> p(s.discord, 99);
+                case 7 -> p(s.pipeline, 50);
+                case 8 -> p(s.pipeline, 99);
+                case 9 -> LatencyTracker.format(s.pipeline.getMax());
+                case 10 -> p(s.endToEnd, 50);
+                case 11 -> p(s.endToEnd, 99);
+                case 12 -> LatencyTracker.format(s.endToEnd.getMax());
+                default -> "";
+            };
+        }
+
+        private static String p(LatencyHistogram histogram, double percentile) {
+            return histogram.getCount() == 0 ? "-" : LatencyTracker.format(histogram.getPercentile(percentile));
+        }
+    }
+}
@@ -8,12 +8,14 @@ package com.chalwk.gui;
 
 import com.chalwk.SAPPDiscordBot;
 import com.chalwk.config.ConfigManager;
+import com.chalwk.jfr.FlightRecorderControl;
 import com.chalwk.model.RawEvent;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.File;
 
 public class MainFrame extends JFrame {
 
@@ -61,6 +63,21 @@ public class MainFrame extends JFrame {
         refreshItem.addActionListener(e -> refreshView());
         viewMenu.add(refreshItem);
 
+        JMenuItem latencyItem = new JMenuItem("Latency Statistics");
+        latencyItem.addActionListener(e -> new LatencyStatsDialog(this).setVisible(true));
+        viewMenu.add(latencyItem);
+
+        JMenu diagnosticsMenu = new JMenu("Diagnostics");
+        JMenuItem startRecordingItem = new JMenuItem("Start Flight Recording");
+        startRecordingItem.addActionListener(e -> startFlightRecording());
+        JMenuItem dumpRecordingItem = new JMenuItem("Dump Flight Recording...");
+        dumpRecordingItem.addActionListener(e -> dumpFlightRecording());
+        JMenuItem stopRecordingItem = new JMenuItem("Stop Flight Recording");
+        stopRecordingItem.addActionListener(e -> FlightRecorderControl.stop());
+        diagnosticsMenu.add(startRecordingItem);
+        diagnosticsMenu.add(dumpRecordingItem);
+        diagnosticsMenu.add(stopRecordingItem);
+
         JMenu helpMenu = new JMenu("Help");
 
         JMenuItem aboutItem = new JMenuItem("About");
@@ -71,6 +88,7 @@ public class MainFrame extends JFrame {
 
         menuBar.add(fileMenu);
         menuBar.add(viewMenu);
+        menuBar.add(diagnosticsMenu);
         menuBar.add(helpMenu);
         setJMenuBar(menuBar);
     }
@@ -84,9 +102,11 @@ public class MainFrame extends JFrame {
         OutputConfigPanel outputConfigPanel = new OutputConfigPanel(configManager);
         tabbedPane.addTab("Output Configuration", outputConfigPanel);
 
-        eventLogPanel = new EventLogPanel();
+        eventLogPanel = new EventLogPanel(configManager.getConfig().getEventLogCapacity());
         tabbedPane.addTab("Event Log", eventLogPanel);
 
+        tabbedPane.addTab("Performance", new PerformancePanel());
+
         JPanel controlPanel = createControlPanel();
 
         add(controlPanel, BorderLayout.NORTH);
@@ -143,6 +163,38 @@ public class MainFrame extends JFrame {
         }
     }
 
+    private void startFlightRecording() {
+        try {
+            FlightRecorderControl.start();
+            JOptionPane.showMessageDialog(this,
+                    "Flight recording started. Use Diagnostics → Dump Flight Recording to save it.",
+                    "Flight Recorder", JOptionPane.INFORMATION_MESSAGE);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Could not start flight recording: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void dumpFlightRecording() {
+        if (!FlightRecorderControl.isRecording()) {
+            JOptionPane.showMessageDialog(this, "No flight recording is running.",
+                    "Flight Recorder", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Save Flight Recording");
+        chooser.setSelectedFile(new File("sapp_bot_" + System.currentTimeMillis() + ".jfr"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        try {
+            FlightRecorderControl.dump(chooser.getSelectedFile().toPath());
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Could not save flight recording: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     private void minimizeToTray() {
         setVisible(false);
         JOptionPane.showMessageDialog(this,
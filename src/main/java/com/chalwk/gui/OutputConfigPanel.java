@@ -474,14 +474,7 @@ public class OutputConfigPanel extends JPanel {
                 Map<String, EventConfig> serverConfigs = new HashMap<>();
 
                 for (Map.Entry<String, EventConfig> entry : templatesSection.getEventConfigs().entrySet()) {
-                    EventConfig original = entry.getValue();
-                    serverConfigs.put(entry.getKey(), new EventConfig(
-                            original.isEnabled(),
-                            original.getTemplate(),
-                            original.getColor(),
-                            original.isUseEmbed(),
-                            original.getChannelId()
-                    ));
+                    serverConfigs.put(entry.getKey(), new EventConfig(entry.getValue()));
                 }
 
                 configManager.getConfig().setEventConfigsForServer(serverName, serverConfigs);
@@ -0,0 +1,274 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.gui;
+
+import com.chalwk.metrics.LatencyHistogram;
+import com.chalwk.metrics.LatencyTracker;
+import com.chalwk.metrics.Metrics;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PerformancePanel extends JPanel {
+
+    private static final int HISTORY_SECONDS = 3600;
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final Sparkline eventsSparkline = new Sparkline("Events/s", "", HISTORY_SECONDS);
+    private final Sparkline sentSparkline = new Sparkline("Messages sent/s", "", HISTORY_SECONDS);
+    private final Sparkline rateLimitedSparkline = new Sparkline("429 responses/s", "", HISTORY_SECONDS);
+    private final Sparkline queueSparkline = new Sparkline("Send queue depth", "", HISTORY_SECONDS);
+    private final Sparkline heapSparkline = new Sparkline("Heap used", "MB", HISTORY_SECONDS);
+
+    private final JLabel eventsLabel = new JLabel();
+    private final JLabel sentLabel = new JLabel();
+    private final JLabel queueLabel = new JLabel();
+    private final JLabel rateLimitedLabel = new JLabel();
+    private final JLabel failedLabel = new JLabel();
+    private final JLabel dedupLabel = new JLabel();
+    private final JLabel pipelineLabel = new JLabel();
+    private final JLabel endToEndLabel = new JLabel();
+    private final JLabel heapLabel = new JLabel();
+
+    private final ServerRateTableModel serverModel = new ServerRateTableModel();
+    private final ChannelQueueTableModel channelModel = new ChannelQueueTableModel();
+
+    private long lastEvents;
+    private long lastSent;
+    private long lastRateLimited;
+
+    public PerformancePanel() {
+        setLayout(new BorderLayout(5, 5));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel summaryPanel = new JPanel(new GridLayout(3, 6, 10, 4));
+        summaryPanel.setBorder(BorderFactory.createTitledBorder("Current"));
+        addStat(summaryPanel, "Events/s:", eventsLabel);
+        addStat(summaryPanel, "Sent/s:", sentLabel);
+        addStat(summaryPanel, "Send queue:", queueLabel);
+        addStat(summaryPanel, "429 responses:", rateLimitedLabel);
+        addStat(summaryPanel, "Failed sends:", failedLabel);
+        addStat(summaryPanel, "Dedup set size:", dedupLabel);
+        addStat(summaryPanel, "Pipeline p50/p99:", pipelineLabel);
+        addStat(summaryPanel, "End-to-end p50/p99:", endToEndLabel);
+        addStat(summaryPanel, "Heap used/max:", heapLabel);
+
+        JPanel sparklinePanel = new JPanel(new GridLayout(0, 1, 0, 4));
+        sparklinePanel.setBorder(BorderFactory.createTitledBorder("Last hour"));
+        sparklinePanel.add(eventsSparkline);
+        sparklinePanel.add(sentSparkline);
+        sparklinePanel.add(rateLimitedSparkline);
+        sparklinePanel.add(queueSparkline);
+        sparklinePanel.add(heapSparkline);
+
+        JTable serverTable = new JTable(serverModel);
+        serverTable.setRowHeight(22);
+        serverTable.getTableHeader().setReorderingAllowed(false);
+        JScrollPane serverScroll = new JScrollPane(serverTable);
+        serverScroll.setBorder(BorderFactory.createTitledBorder("Servers"));
+
+        JTable channelTable = new JTable(channelModel);
+        channelTable.setRowHeight(22);
+        channelTable.getTableHeader().setReorderingAllowed(false);
+        JScrollPane channelScroll = new JScrollPane(channelTable);
+        channelScroll.setBorder(BorderFactory.createTitledBorder("Channels"));
+
+        JPanel tablePanel = new JPanel(new GridLayout(1, 2, 5, 0));
+        tablePanel.add(serverScroll);
+        tablePanel.add(channelScroll);
+
+        JPanel centerPanel = new JPanel(new BorderLayout(5, 5));
+        centerPanel.add(sparklinePanel, BorderLayout.NORTH);
+        centerPanel.add(tablePanel, BorderLayout.CENTER);
+
+        add(summaryPanel, BorderLayout.NORTH);
+        add(centerPanel, BorderLayout.CENTER);
+
+        lastEvents = totalEvents();
+        lastSent = Metrics.MESSAGES_SENT.sum();
+        lastRateLimited = Metrics.MESSAGES_RATE_LIMITED.sum();
+
+        // Samples keep being taken while another tab is selected so the history has no gaps
+        new Timer(1000, e -> sample()).start();
+        sample();
+    }
+
+    private static void addStat(JPanel panel, String name, JLabel value) {
+        panel.add(new JLabel(name));
+        value.setFont(value.getFont().deriveFont(Font.BOLD));
+        panel.add(value);
+    }
+
+    private static long totalEvents() {
+        long total = 0;
+        for (LongAdder adder : Metrics.getServerEvents().values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    private void sample() {
+        long events = totalEvents();
+        long sent = Metrics.MESSAGES_SENT.sum();
+        long rateLimited = Metrics.MESSAGES_RATE_LIMITED.sum();
+        long queueDepth = Metrics.SEND_QUEUE_DEPTH.sum();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long heapUsedMb = heap.getUsed() / (1024 * 1024);
+
+        eventsSparkline.add(events - lastEvents);
+        sentSparkline.add(sent - lastSent);
+        rateLimitedSparkline.add(rateLimited - lastRateLimited);
+        queueSparkline.add(queueDepth);
+        heapSparkline.add(heapUsedMb);
+
+        eventsLabel.setText(String.valueOf(events - lastEvents));
+        sentLabel.setText(String.valueOf(sent - lastSent));
+        queueLabel.setText(String.valueOf(queueDepth));
+        rateLimitedLabel.setText(String.valueOf(rateLimited));
+        failedLabel.setText(String.valueOf(Metrics.MESSAGES_FAILED.sum()));
+        dedupLabel.setText(String.valueOf(Metrics.gaugeValue("sapp_dedup_set_size")));
+
+        LatencyTracker.StageHistograms overall = LatencyTracker.global().getOverall();
+        pipelineLabel.setText(percentiles(overall.pipeline));
+        endToEndLabel.setText(percentiles(overall.endToEnd));
+        heapLabel.setText(heapUsedMb + " / " + (heap.getMax() > 0 ? heap.getMax() / (1024 * 1024) + " MB" : "?"));
+
+        lastEvents = events;
+        lastSent = sent;
+        lastRateLimited = rateLimited;
+
+        serverModel.refresh();
+        channelModel.refresh();
+
+        if (isShowing()) {
+            repaint();
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return bytes / 1024 + " KB";
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) return "-";
+        return LatencyTracker.format(histogram.getPercentile(50)) + " / " + LatencyTracker.format(histogram.getPercentile(99));
+    }
+
+    // Existing rows are updated in place so the user's selection survives; a new key can land anywhere in the
+    // sorted order, so only then is the whole table redrawn
+    private static void publishRows(AbstractTableModel model, List<Object[]> rows, List<Object[]> newRows) {
+        boolean sameKeys = rows.size() == newRows.size();
+        for (int i = 0; sameKeys && i < rows.size(); i++) {
+            sameKeys = rows.get(i)[0].equals(newRows.get(i)[0]);
+        }
+        rows.clear();
+        rows.addAll(newRows);
+
+        if (!sameKeys) {
+            model.fireTableDataChanged();
+        } else if (!rows.isEmpty()) {
+            model.fireTableRowsUpdated(0, rows.size() - 1);
+        }
+    }
+
+    private static class ServerRateTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"Server", "Events/s", "Events/s (1 min avg)", "Total Events", "Poll Interval", "Backlog"};
+        private final Map<String, long[]> history = new HashMap<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private int tick;
+
+        void refresh() {
+            List<Object[]> newRows = new ArrayList<>();
+            int slot = tick % (RATE_WINDOW_SECONDS + 1);
+            int window = Math.min(tick, RATE_WINDOW_SECONDS);
+            for (Map.Entry<String, LongAdder> entry : Metrics.getServerEvents().entrySet()) {
+                long total = entry.getValue().sum();
+                long[] counts = history.computeIfAbsent(entry.getKey(), k -> {
+                    long[] filled = new long[RATE_WINDOW_SECONDS + 1];
+                    Arrays.fill(filled, total);
+                    return filled;
+                });
+                long previous = counts[(slot + RATE_WINDOW_SECONDS) % counts.length];
+                long windowStart = counts[(slot + counts.length - window) % counts.length];
+                counts[slot] = total;
+                double average = window > 0 ? (total - windowStart) / (double) window : 0;
+                AtomicLong interval = Metrics.getServerPollIntervals().get(entry.getKey());
+                AtomicLong backlog = Metrics.getServerBacklogs().get(entry.getKey());
+                newRows.add(new Object[]{entry.getKey(), total - previous, String.format("%.1f", average), total,
+                        interval != null ? interval.get() + " ms" : "-",
+                        backlog != null ? formatBytes(backlog.get()) : "-"});
+            }
+            tick++;
+            publishRows(this, rows, newRows);
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            return rows.get(rowIndex)[columnIndex];
+        }
+    }
+
+    private static class ChannelQueueTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"Channel ID", "In Flight"};
+        private final List<Object[]> rows = new ArrayList<>();
+
+        void refresh() {
+            List<Object[]> newRows = new ArrayList<>();
+            for (Map.Entry<String, LongAdder> entry : Metrics.getChannelQueueDepths().entrySet()) {
+                newRows.add(new Object[]{entry.getKey(), entry.getValue().sum()});
+            }
+            publishRows(this, rows, newRows);
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            return rows.get(rowIndex)[columnIndex];
+        }
+    }
+}
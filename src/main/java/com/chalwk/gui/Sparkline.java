@@ -0,0 +1,82 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.gui;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Fixed-size history of one sample per tick, drawn oldest to newest from left to right
+public class Sparkline extends JComponent {
+
+    private final String title;
+    private final String unit;
+    private final double[] samples;
+    private int head;
+    private int size;
+
+    public Sparkline(String title, String unit, int capacity) {
+        this.title = title;
+        this.unit = unit;
+        this.samples = new double[capacity];
+        setPreferredSize(new Dimension(300, 48));
+        setToolTipText(title);
+    }
+
+    public void add(double value) {
+        samples[head] = value;
+        head = (head + 1) % samples.length;
+        if (size < samples.length) size++;
+    }
+
+    private double sample(int i) {
+        return samples[(head - size + i + samples.length) % samples.length];
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int width = getWidth();
+            int height = getHeight();
+            g2.setColor(getBackground() != null ? getBackground() : Color.WHITE);
+            g2.fillRect(0, 0, width, height);
+
+            double max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, sample(i));
+            }
+
+            int top = 16;
+            int plotHeight = height - top - 2;
+            if (size > 1 && plotHeight > 0) {
+                // Older samples than fit in the component width are skipped rather than averaged
+                int points = Math.min(size, width);
+                int[] xs = new int[points];
+                int[] ys = new int[points];
+                for (int i = 0; i < points; i++) {
+                    double value = sample(size - points + i);
+                    xs[i] = width - points + i;
+                    ys[i] = top + plotHeight - (max > 0 ? (int) Math.round(value / max * plotHeight) : 0);
+                }
+                g2.setColor(new Color(88, 101, 242));
+                g2.drawPolyline(xs, ys, points);
+            }
+
+            double current = size > 0 ? sample(size - 1) : 0;
+            g2.setColor(getForeground());
+            g2.setFont(getFont().deriveFont(Font.PLAIN, 11f));
+            g2.drawString(String.format("%s: %s %s (max %s)", title, format(current), unit, format(max)), 2, 12);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private static String format(double value) {
+        return value >= 100 || value == Math.rint(value) ? String.format("%.0f", value) : String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.chalwk.DiscordRateLimit")
+@Label("Discord Rate Limit")
+@Category({"SAPP Discord Bot", "Dispatch"})
+@Description("An HTTP 429 from Discord and how long the route has to wait before retrying")
+public class DiscordRateLimitEvent extends jdk.jfr.Event {
+
+    @Label("Route")
+    public String route;
+
+    @Label("Retry After")
+    @Timespan(Timespan.MILLISECONDS)
+    public long retryAfter;
+
+    @Label("Global")
+    public boolean global;
+}
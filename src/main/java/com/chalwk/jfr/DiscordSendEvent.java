@@ -0,0 +1,28 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chalwk.DiscordSend")
+@Label("Discord Send")
+@Category({"SAPP Discord Bot", "Dispatch"})
+@Description("A message from the moment it is queued with JDA until Discord acknowledges or rejects it")
+public class DiscordSendEvent extends jdk.jfr.Event {
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,32 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chalwk.EventRoute")
+@Label("Event Route")
+@Category({"SAPP Discord Bot", "Dispatch"})
+@Description("One event from lookup of its configuration until it is handed to an output sink, or dropped")
+public class EventRouteEvent extends jdk.jfr.Event {
+
+    @Label("Server")
+    public String server;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Outcome")
+    @Description("disabled, unrouted, live, embed or message")
+    public String outcome;
+
+    @Label("Sink")
+    public String sink;
+}
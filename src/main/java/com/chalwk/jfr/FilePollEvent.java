@@ -0,0 +1,25 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chalwk.FilePoll")
+@Label("File Poll")
+@Category({"SAPP Discord Bot", "Ingestion"})
+@Description("One scan of the watch directory")
+public class FilePollEvent extends jdk.jfr.Event {
+
+    @Label("Files Listed")
+    public int filesListed;
+
+    @Label("Files Changed")
+    public int filesChanged;
+}
@@ -0,0 +1,33 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.chalwk.FileReadPass")
+@Label("File Read Pass")
+@Category({"SAPP Discord Bot", "Ingestion"})
+@Description("One pass over the new content of an event file, reading and parsing its lines as they arrive")
+public class FileReadPassEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytes;
+
+    @Label("Read Time")
+    @Description("Time spent reading from the file, excluding parsing")
+    @Timespan(Timespan.NANOSECONDS)
+    public long readTime;
+}
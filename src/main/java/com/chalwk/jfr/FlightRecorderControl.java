@@ -0,0 +1,67 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+public final class FlightRecorderControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderControl.class);
+
+    private static Recording recording;
+
+    private FlightRecorderControl() {
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    public static synchronized void start() throws IOException, ParseException {
+        start(null);
+    }
+
+    // With a destination, the JVM writes the recording there itself when it exits
+    public static synchronized void start(Path destinationOnExit) throws IOException, ParseException {
+        if (recording != null) return;
+
+        Recording newRecording = new Recording(Configuration.getConfiguration("profile"));
+        newRecording.setName("SAPPDiscordBot");
+        newRecording.setToDisk(true);
+        if (destinationOnExit != null) {
+            newRecording.setDestination(destinationOnExit);
+            newRecording.setDumpOnExit(true);
+        }
+        newRecording.start();
+        recording = newRecording;
+        logger.info("Flight recording started");
+    }
+
+    // Writes everything recorded so far; the recording keeps running
+    public static synchronized void dump(Path destination) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        recording.dump(destination);
+        logger.info("Flight recording dumped to {}", destination.toAbsolutePath());
+    }
+
+    public static synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            logger.info("Flight recording stopped");
+        }
+    }
+}
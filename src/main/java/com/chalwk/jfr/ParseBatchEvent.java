@@ -0,0 +1,41 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.chalwk.ParseBatch")
+@Label("Parse Batch")
+@Category({"SAPP Discord Bot", "Ingestion"})
+@Description("Parsing the lines read from one event file in a single pass")
+public class ParseBatchEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Skipped")
+    @Description("Lines of disabled event types dropped before parsing")
+    public int skipped;
+
+    @Label("Failures")
+    public int failures;
+
+    @Label("New Events")
+    public int events;
+
+    @Label("Parse Time")
+    @Description("Time spent parsing, excluding I/O")
+    @Timespan(Timespan.NANOSECONDS)
+    public long parseTime;
+}
@@ -0,0 +1,23 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chalwk.TemplateRender")
+@Label("Template Render")
+@Category({"SAPP Discord Bot", "Dispatch"})
+public class TemplateRenderEvent extends jdk.jfr.Event {
+
+    @Label("Template Length")
+    public int templateLength;
+
+    @Label("Output Length")
+    public int outputLength;
+}
@@ -0,0 +1,88 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Fixed-size log-linear histogram of microsecond values in the spirit of HdrHistogram: values below 64 get their own
+ * bucket and every power of two above that is split into 32 linear sub-buckets, giving roughly 3% precision.
+ * Recording is a handful of lock-free atomic operations and never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKETS = 32;
+    private static final int MAX_EXPONENT = 37; // ~38 hours in microseconds
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - 5) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        if (value > maxValue.get()) {
+            maxValue.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    // Upper bound of the bucket holding the given percentile (0-100), 0 when empty
+    public long getPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        maxValue.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - 5;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (exponent - 6) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) return index;
+
+        int offset = index - LINEAR_BUCKETS;
+        int exponent = offset / SUB_BUCKETS + 6;
+        long mantissa = offset % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - 5;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.metrics;
+
+import com.chalwk.model.RawEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyTracker.class);
+    private static final LatencyTracker GLOBAL = new LatencyTracker();
+
+    private final Map<Key, StageHistograms> histograms = new ConcurrentHashMap<>();
+    private final StageHistograms overall = new StageHistograms();
+
+    public static LatencyTracker global() {
+        return GLOBAL;
+    }
+
+    // Called from the Discord success callback once the REST request has been acknowledged
+    public void recordDelivery(RawEvent event, String serverName) {
+        long ackNanos = System.nanoTime();
+        long ackMillis = System.currentTimeMillis();
+
+        StageHistograms stages = histograms.computeIfAbsent(
+                new Key(serverName, event.getEvent_type()), k -> new StageHistograms());
+
+        record(stages, event, ackNanos, ackMillis);
+        record(overall, event, ackNanos, ackMillis);
+    }
+
+    private static void record(StageHistograms stages, RawEvent event, long ackNanos, long ackMillis) {
+        if (event.getReadNanos() != 0) {
+            stages.parse.record(micros(event.getParsedNanos() - event.getReadNanos()));
+            stages.render.record(micros(event.getRenderedNanos() - event.getParsedNanos()));
+            stages.enqueue.record(micros(event.getEnqueuedNanos() - event.getRenderedNanos()));
+            stages.pipeline.record(micros(ackNanos - event.getReadNanos()));
+        }
+        stages.discord.record(micros(ackNanos - event.getEnqueuedNanos()));
+
+        // The game writes whole seconds, so this figure is only accurate to about a second
+        if (event.getTimestamp() > 0) {
+            stages.endToEnd.record((ackMillis - event.getTimestamp() * 1000) * 1000);
+        }
+    }
+
+    public StageHistograms getOverall() {
+        return overall;
+    }
+
+    public List<Snapshot> snapshot() {
+        List<Snapshot> result = new ArrayList<>();
+        histograms.forEach((key, stages) -> result.add(new Snapshot(key.serverName(), key.eventType(), stages)));
+        result.sort((a, b) -> {
+            int byServer = a.serverName().compareTo(b.serverName());
+            return byServer != 0 ? byServer : a.eventType().compareTo(b.eventType());
+        });
+        return result;
+    }
+
+    public void reset() {
+        histograms.clear();
+        overall.reset();
+    }
+
+    public void logSummary() {
+        for (Snapshot snapshot : snapshot()) {
+            StageHistograms s = snapshot.stages();
+            if (s.discord.getCount() == 0) continue;
+
+            logger.info("Latency {}/{} n={} | pipeline p50={} p99={} max={} | discord p50={} p99={} | end-to-end p50={} p99={} max={}",
+                    snapshot.serverName(), snapshot.eventType(), s.discord.getCount(),
+                    format(s.pipeline.getPercentile(50)), format(s.pipeline.getPercentile(99)), format(s.pipeline.getMax()),
+                    format(s.discord.getPercentile(50)), format(s.discord.getPercentile(99)),
+                    format(s.endToEnd.getPercentile(50)), format(s.endToEnd.getPercentile(99)), format(s.endToEnd.getMax()));
+        }
+    }
+
+    public static String format(long micros) {
+        if (micros < 1000) return micros + "us";
+        if (micros < 1_000_000) return String.format("%.1fms", micros / 1000.0);
+        return String.format("%.2fs", micros / 1_000_000.0);
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1000;
+    }
+
+    private record Key(String serverName, String eventType) {
+        Key {
+            serverName = serverName != null ? serverName : "";
+            eventType = eventType != null ? eventType : "";
+        }
+    }
+
+    public record Snapshot(String serverName, String eventType, StageHistograms stages) {
+    }
+
+    public static class StageHistograms {
+        public final LatencyHistogram parse = new LatencyHistogram();
+        public final LatencyHistogram render = new LatencyHistogram();
+        public final LatencyHistogram enqueue = new LatencyHistogram();
+        public final LatencyHistogram discord = new LatencyHistogram();
+        public final LatencyHistogram pipeline = new LatencyHistogram();
+        public final LatencyHistogram endToEnd = new LatencyHistogram();
+
+        void reset() {
+            parse.reset();
+            render.reset();
+            enqueue.reset();
+            discord.reset();
+            pipeline.reset();
+            endToEnd.reset();
+        }
+    }
+}
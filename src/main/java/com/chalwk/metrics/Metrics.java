@@ -0,0 +1,198 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/*
+ * Process-wide counters. LongAdder stripes its cells per thread, so incrementing from the watcher, JDA callback and
+ * socket threads never contends; the cost of summing is paid only when metrics are scraped.
+ */
+public final class Metrics {
+
+    public static final LongAdder BYTES_READ = new LongAdder();
+    public static final LongAdder LINES_PARSED = new LongAdder();
+    public static final LongAdder PARSE_FAILURES = new LongAdder();
+    public static final LongAdder DEDUP_HITS = new LongAdder();
+    public static final LongAdder LINES_SKIPPED = new LongAdder();
+    public static final LongAdder SOCKET_LINES = new LongAdder();
+    public static final LongAdder SOCKET_DROPPED = new LongAdder();
+    public static final LongAdder FORWARD_FRAMES = new LongAdder();
+    public static final LongAdder FORWARD_DUPLICATES = new LongAdder();
+    public static final LongAdder FORWARD_LINES = new LongAdder();
+    public static final LongAdder CATCH_UPS = new LongAdder();
+    public static final LongAdder CATCH_UP_SUMMARISED = new LongAdder();
+
+    public static final LongAdder EVENTS_ROUTED = new LongAdder();
+    public static final LongAdder EVENTS_DISABLED = new LongAdder();
+    public static final LongAdder EVENTS_UNROUTED = new LongAdder();
+
+    public static final LongAdder MESSAGES_SENT = new LongAdder();
+    public static final LongAdder MESSAGES_FAILED = new LongAdder();
+    public static final LongAdder MESSAGES_RATE_LIMITED = new LongAdder();
+    public static final LongAdder MESSAGES_SHADOWED = new LongAdder();
+    public static final LongAdder LIVE_MESSAGE_EDITS = new LongAdder();
+    public static final LongAdder LIVE_UPDATES_COALESCED = new LongAdder();
+    public static final LongAdder SEND_QUEUE_DEPTH = new LongAdder();
+
+    private static final ConcurrentMap<String, LongAdder> serverEvents = new ConcurrentSkipListMap<>();
+    private static final ConcurrentMap<String, LongAdder> channelQueueDepth = new ConcurrentSkipListMap<>();
+    private static final ConcurrentMap<String, AtomicLong> serverPollInterval = new ConcurrentSkipListMap<>();
+    private static final ConcurrentMap<String, AtomicLong> serverBacklog = new ConcurrentSkipListMap<>();
+    private static final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    // New (not deduplicated) events read per server
+    public static LongAdder serverEvents(String serverName) {
+        return serverEvents.computeIfAbsent(serverName, k -> new LongAdder());
+    }
+
+    public static Map<String, LongAdder> getServerEvents() {
+        return serverEvents;
+    }
+
+    // Messages queued with JDA per channel that have not been acknowledged or rejected yet
+    public static LongAdder channelQueueDepth(String channelId) {
+        return channelQueueDepth.computeIfAbsent(channelId, k -> new LongAdder());
+    }
+
+    public static Map<String, LongAdder> getChannelQueueDepths() {
+        return channelQueueDepth;
+    }
+
+    // Current adaptive poll interval of each server's event file, in milliseconds
+    public static AtomicLong serverPollInterval(String serverName) {
+        return serverPollInterval.computeIfAbsent(serverName, k -> new AtomicLong());
+    }
+
+    public static Map<String, AtomicLong> getServerPollIntervals() {
+        return serverPollInterval;
+    }
+
+    // Bytes written to each server's event file that have not been read yet
+    public static AtomicLong serverBacklog(String serverName) {
+        return serverBacklog.computeIfAbsent(serverName, k -> new AtomicLong());
+    }
+
+    public static Map<String, AtomicLong> getServerBacklogs() {
+        return serverBacklog;
+    }
+
+    public static long gaugeValue(String name) {
+        Gauge gauge = gauges.get(name);
+        return gauge != null ? gauge.value().getAsLong() : 0;
+    }
+
+    public static void registerGauge(String name, String help, LongSupplier value) {
+        gauges.put(name, new Gauge(help, value));
+    }
+
+    public static void unregisterGauge(String name) {
+        gauges.remove(name);
+    }
+
+    public static String toPrometheusText() {
+        StringBuilder out = new StringBuilder(4096);
+
+        counter(out, "sapp_file_bytes_read_total", "Bytes read from event files", BYTES_READ);
+        counter(out, "sapp_lines_parsed_total", "Event lines parsed successfully", LINES_PARSED);
+        counter(out, "sapp_parse_failures_total", "Event lines that failed to parse", PARSE_FAILURES);
+        counter(out, "sapp_dedup_hits_total", "Parsed events skipped as already processed", DEDUP_HITS);
+        counter(out, "sapp_lines_skipped_total", "Event lines of disabled types skipped without parsing", LINES_SKIPPED);
+        counter(out, "sapp_socket_lines_total", "Event lines received over UDP or TCP", SOCKET_LINES);
+        counter(out, "sapp_socket_dropped_total", "Socket event lines without a server name or over the size limit", SOCKET_DROPPED);
+        counter(out, "sapp_forward_frames_total", "Batches received from forwarding agents", FORWARD_FRAMES);
+        counter(out, "sapp_forward_duplicate_frames_total", "Batches resent by forwarding agents and dropped as already handled", FORWARD_DUPLICATES);
+        counter(out, "sapp_forward_lines_total", "Event lines received from forwarding agents", FORWARD_LINES);
+        counter(out, "sapp_catch_ups_total", "Event files that fell behind and were caught up on", CATCH_UPS);
+        counter(out, "sapp_catch_up_summarised_total", "Events folded into catch-up digests instead of sent", CATCH_UP_SUMMARISED);
+        counter(out, "sapp_events_routed_total", "Events rendered and handed to an output", EVENTS_ROUTED);
+        counter(out, "sapp_events_disabled_total", "Events dropped because their type is disabled or unconfigured", EVENTS_DISABLED);
+        counter(out, "sapp_events_unrouted_total", "Events dropped because no channel is configured", EVENTS_UNROUTED);
+        counter(out, "sapp_discord_messages_sent_total", "Messages acknowledged by Discord", MESSAGES_SENT);
+        counter(out, "sapp_discord_messages_failed_total", "Messages Discord rejected or that could not be sent", MESSAGES_FAILED);
+        counter(out, "sapp_discord_rate_limited_total", "HTTP 429 responses received from Discord", MESSAGES_RATE_LIMITED);
+        counter(out, "sapp_shadow_messages_total", "Messages rendered in shadow mode instead of being sent", MESSAGES_SHADOWED);
+        counter(out, "sapp_live_message_edits_total", "Edits of live messages in place of new messages", LIVE_MESSAGE_EDITS);
+        counter(out, "sapp_live_updates_coalesced_total", "Live-message updates replaced by a newer one before being sent", LIVE_UPDATES_COALESCED);
+        gauge(out, "sapp_discord_send_queue_depth", "Messages buffered or in flight to Discord", SEND_QUEUE_DEPTH.sum());
+
+        header(out, "sapp_server_events_total", "New events read per server", "counter");
+        for (Map.Entry<String, LongAdder> entry : serverEvents.entrySet()) {
+            sample(out, "sapp_server_events_total{server=\"" + escapeLabel(entry.getKey()) + "\"}", entry.getValue().sum());
+        }
+        header(out, "sapp_server_poll_interval_ms", "Current poll interval of each server's event file", "gauge");
+        for (Map.Entry<String, AtomicLong> entry : serverPollInterval.entrySet()) {
+            sample(out, "sapp_server_poll_interval_ms{server=\"" + escapeLabel(entry.getKey()) + "\"}", entry.getValue().get());
+        }
+        header(out, "sapp_server_backlog_bytes", "Bytes of each server's event file not read yet", "gauge");
+        for (Map.Entry<String, AtomicLong> entry : serverBacklog.entrySet()) {
+            sample(out, "sapp_server_backlog_bytes{server=\"" + escapeLabel(entry.getKey()) + "\"}", entry.getValue().get());
+        }
+        header(out, "sapp_discord_channel_queue_depth", "Messages in flight to Discord per channel", "gauge");
+        for (Map.Entry<String, LongAdder> entry : channelQueueDepth.entrySet()) {
+            sample(out, "sapp_discord_channel_queue_depth{channel=\"" + escapeLabel(entry.getKey()) + "\"}", entry.getValue().sum());
+        }
+
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            gauge(out, entry.getKey(), entry.getValue().help(), entry.getValue().value().getAsLong());
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        gauge(out, "jvm_memory_heap_used_bytes", "Used heap memory", heap.getUsed());
+        gauge(out, "jvm_memory_heap_committed_bytes", "Committed heap memory", heap.getCommitted());
+        gauge(out, "jvm_memory_heap_max_bytes", "Maximum heap memory", heap.getMax());
+
+        header(out, "jvm_gc_collections_total", "Garbage collections by collector", "counter");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total{gc=\"" + escapeLabel(gc.getName()) + "\"}", gc.getCollectionCount());
+        }
+        header(out, "jvm_gc_collection_seconds_total", "Time spent in garbage collection by collector", "counter");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.append("jvm_gc_collection_seconds_total{gc=\"").append(escapeLabel(gc.getName())).append("\"} ")
+                    .append(gc.getCollectionTime() / 1000.0).append('\n');
+        }
+
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, LongAdder value) {
+        header(out, name, help, "counter");
+        sample(out, name, value.sum());
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "gauge");
+        sample(out, name, value);
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void sample(StringBuilder out, String series, long value) {
+        out.append(series).append(' ').append(value).append('\n');
+    }
+
+    private record Gauge(String help, LongSupplier value) {
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.metrics;
+
+import com.chalwk.config.AppConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+public class MetricsServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+
+    private HttpServer server;
+
+    public static MetricsServer startIfEnabled(AppConfig config) {
+        if (!config.isMetricsEnabled()) return null;
+
+        MetricsServer metricsServer = new MetricsServer();
+        metricsServer.start(config.getMetricsBindAddress(), config.getMetricsPort());
+        return metricsServer;
+    }
+
+    public void start(String bindAddress, int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+            server.createContext("/metrics", this::handleMetrics);
+            // Requests are handled on one daemon thread, but the server's own dispatcher thread is not a daemon,
+            // so the process only exits on its own once stop() has been called
+            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            logger.info("Metrics endpoint listening on http://{}:{}/metrics", bindAddress, port);
+        } catch (IOException e) {
+            logger.error("Failed to start metrics endpoint on {}:{}", bindAddress, port, e);
+            server = null;
+        }
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            logger.info("Metrics endpoint stopped");
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = Metrics.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
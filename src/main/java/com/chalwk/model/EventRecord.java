@@ -0,0 +1,169 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.model;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Event fields laid out by an {@link EventSchema}: one slot per known field, whole numbers kept as primitives and key
+ * names held once by the schema. Fields the schema does not know go to a small overflow map. It is also a read-only
+ * {@code Map} so code that only needs a map of field values keeps working.
+ */
+public final class EventRecord extends AbstractMap<String, Object> {
+
+    private final EventSchema schema;
+    private final String[] text;
+    private final long[] numbers;
+    private long numberMask;
+    private Map<String, Object> extra;
+
+    public EventRecord(EventSchema schema) {
+        this.schema = schema;
+        this.text = new String[schema.size()];
+        this.numbers = schema.hasNumericFields() ? new long[schema.size()] : null;
+    }
+
+    public EventSchema getSchema() {
+        return schema;
+    }
+
+    // Called by the parser only; numeric fields that are not plain whole numbers are kept as text
+    public void set(String key, String value) {
+        int slot = schema.slotOf(key);
+        if (slot < 0) {
+            if (extra == null) extra = new LinkedHashMap<>(4);
+            extra.put(key, value);
+            return;
+        }
+
+        if (schema.isNumeric(slot) && isPlainLong(value)) {
+            numbers[slot] = Long.parseLong(value);
+            numberMask |= 1L << slot;
+            text[slot] = null;
+        } else {
+            text[slot] = value;
+            numberMask &= ~(1L << slot);
+        }
+    }
+
+    public boolean isNumber(int slot) {
+        return (numberMask & (1L << slot)) != 0;
+    }
+
+    public long getLong(int slot) {
+        return numbers[slot];
+    }
+
+    public String getText(int slot) {
+        return isNumber(slot) ? Long.toString(numbers[slot]) : text[slot];
+    }
+
+    public boolean has(int slot) {
+        return isNumber(slot) || text[slot] != null;
+    }
+
+    // Appends the value of a field without boxing numbers; false when the event has no such field
+    public boolean appendTo(StringBuilder out, String key) {
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            if (isNumber(slot)) {
+                out.append(numbers[slot]);
+                return true;
+            }
+            if (text[slot] != null) {
+                out.append(text[slot]);
+                return true;
+            }
+            return false;
+        }
+
+        Object value = extra != null ? extra.get(key) : null;
+        if (value == null) return false;
+        out.append(value);
+        return true;
+    }
+
+    // key:value: for every field, in the same order as entrySet()
+    public void appendEntries(StringBuilder out) {
+        for (int slot = 0; slot < text.length; slot++) {
+            if (isNumber(slot)) {
+                out.append(schema.field(slot)).append(':').append(numbers[slot]).append(':');
+            } else if (text[slot] != null) {
+                out.append(schema.field(slot)).append(':').append(text[slot]).append(':');
+            }
+        }
+        if (extra != null) {
+            for (Map.Entry<String, Object> entry : extra.entrySet()) {
+                out.append(entry.getKey()).append(':').append(entry.getValue()).append(':');
+            }
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = key instanceof String name ? schema.slotOf(name) : -1;
+        if (slot < 0) {
+            return extra != null ? extra.get(key) : null;
+        }
+        return isNumber(slot) ? (Object) numbers[slot] : text[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(numberMask) + countText() + (extra != null ? extra.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // A snapshot in schema order followed by the overflow fields
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (int slot = 0; slot < text.length; slot++) {
+            if (has(slot)) {
+                copy.put(schema.field(slot), isNumber(slot) ? (Object) numbers[slot] : text[slot]);
+            }
+        }
+        if (extra != null) {
+            copy.putAll(extra);
+        }
+        return copy.entrySet();
+    }
+
+    private int countText() {
+        int count = 0;
+        for (String value : text) {
+            if (value != null) count++;
+        }
+        return count;
+    }
+
+    // Only values that print back exactly as written, so "007" or "+5" keep their original text
+    private static boolean isPlainLong(String value) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > 18) return false;
+        if (value.charAt(start) == '0' && (length - start > 1 || start == 1)) return false;
+
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+}
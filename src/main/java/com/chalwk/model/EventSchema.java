@@ -0,0 +1,66 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// The fixed field layout of one event type; every EventRecord of that type shares it, so keys are stored once
+public final class EventSchema {
+
+    private final String eventType;
+    private final String[] fields;
+    private final boolean[] numeric;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final int numericCount;
+
+    // Field names prefixed with '#' hold whole numbers
+    EventSchema(String eventType, String... fieldSpecs) {
+        if (fieldSpecs.length > 64) {
+            throw new IllegalArgumentException("Too many fields for " + eventType);
+        }
+        this.eventType = eventType;
+        this.fields = new String[fieldSpecs.length];
+        this.numeric = new boolean[fieldSpecs.length];
+
+        int numbers = 0;
+        for (int i = 0; i < fieldSpecs.length; i++) {
+            boolean isNumber = fieldSpecs[i].startsWith("#");
+            fields[i] = (isNumber ? fieldSpecs[i].substring(1) : fieldSpecs[i]).intern();
+            numeric[i] = isNumber;
+            slots.put(fields[i], i);
+            if (isNumber) numbers++;
+        }
+        this.numericCount = numbers;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    public String field(int slot) {
+        return fields[slot];
+    }
+
+    public boolean isNumeric(int slot) {
+        return numeric[slot];
+    }
+
+    public boolean hasNumericFields() {
+        return numericCount > 0;
+    }
+
+    // -1 when the field is not part of this schema
+    public int slotOf(String field) {
+        Integer slot = slots.get(field);
+        return slot != null ? slot : -1;
+    }
+}
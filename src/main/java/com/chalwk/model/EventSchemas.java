@@ -0,0 +1,43 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Known event layouts by event type; subtypes share the layout of their type. Unknown types fall back to a plain map.
+public final class EventSchemas {
+
+    private static final Map<String, EventSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    static {
+        register("event_start", "map", "gt", "ffa");
+        register("event_end", "map", "gt", "ffa");
+        register("event_map_reset", "map", "gt", "ffa");
+        register("event_join", "name", "#id", "#total");
+        register("event_leave", "name", "#id", "#total");
+        register("event_spawn", "name", "team");
+        register("event_team_switch", "name", "team");
+        register("event_login", "name", "#lvl");
+        register("event_snap", "name");
+        register("event_chat", "name", "msg");
+        register("event_command", "name", "cmd");
+        register("event_score", "name", "team", "#score", "#redScore", "#blueScore", "#totalTeamLaps", "#scorelimit");
+        register("event_death", "killerName", "victimName");
+    }
+
+    private EventSchemas() {
+    }
+
+    public static void register(String eventType, String... fieldSpecs) {
+        SCHEMAS.put(eventType, new EventSchema(eventType, fieldSpecs));
+    }
+
+    public static EventSchema forType(String eventType) {
+        return SCHEMAS.get(eventType);
+    }
+}
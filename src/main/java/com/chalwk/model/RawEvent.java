@@ -14,6 +14,12 @@ public class RawEvent {
     private Map<String, Object> data;
     private long timestamp;
 
+    // System.nanoTime() as the event moves through the pipeline, used for latency tracking only
+    private long readNanos;
+    private long parsedNanos;
+    private long renderedNanos;
+    private long enqueuedNanos;
+
     public String getEvent_type() {
         return event_type;
     }
@@ -45,4 +51,36 @@ public class RawEvent {
     public void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
-}
\ No newline at end of file
+
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    public void setReadNanos(long readNanos) {
+        this.readNanos = readNanos;
+    }
+
+    public long getParsedNanos() {
+        return parsedNanos;
+    }
+
+    public void setParsedNanos(long parsedNanos) {
+        this.parsedNanos = parsedNanos;
+    }
+
+    public long getRenderedNanos() {
+        return renderedNanos;
+    }
+
+    public void setRenderedNanos(long renderedNanos) {
+        this.renderedNanos = renderedNanos;
+    }
+
+    public long getEnqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    public void setEnqueuedNanos(long enqueuedNanos) {
+        this.enqueuedNanos = enqueuedNanos;
+    }
+}
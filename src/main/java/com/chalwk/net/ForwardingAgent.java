@@ -0,0 +1,547 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.net;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+
+/**
+ * Tails the event files on a game host and forwards them to a central bot running a {@link ForwardingReceiver}, so
+ * servers on several machines share one bot and one Discord connection.
+ * <p>
+ * Usage: ForwardingAgent --bot=host:port [--dir=./discord_events] [--id=name] [--token=secret] [--poll=250]
+ * [--batch-bytes=65536] [--max-in-flight=64] [--state=forwarder_state.json]
+ * <p>
+ * New complete lines from every {@code <server>.txt} are batched, compressed and sent with increasing sequence
+ * numbers over one TCP connection. The bot acknowledges each batch after handling it; only acknowledged file offsets
+ * are saved to the state file, so after a disconnect or restart the agent resends whatever the bot had not confirmed.
+ * Delivery is at least once: a batch the bot handled but could not acknowledge before a restart of both sides is sent
+ * again. Without a state file, existing files are forwarded from their current end, like the bot clearing them on
+ * startup. A file is truncated once it is over 10 MB and everything in it has been acknowledged.
+ */
+public class ForwardingAgent {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForwardingAgent.class);
+
+    public static final String THREAD_NAME = "forwarding-agent";
+
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final long STATE_SAVE_INTERVAL_MS = 1000;
+    private static final long MIN_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final InetSocketAddress botAddress;
+    private final File directory;
+    private final String agentId;
+    private final String token;
+    private final long pollInterval;
+    private final int batchBytes;
+    private final int maxInFlight;
+    private final Path stateFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Charset fileCharset = Charset.defaultCharset();
+
+    // Guarded by this; the ack thread completes frames while the main thread reads files and sends
+    private final Map<String, Tail> tails = new TreeMap<>();
+    private final Deque<Frame> unacked = new ArrayDeque<>();
+    private long nextSeq = 1;
+    private boolean hasSavedState;
+    private boolean stateDirty;
+
+    // Only touched from the main thread
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private byte[] lineBuffer = new byte[1024];
+    private Batch batch;
+    private long lastStateSave;
+
+    private volatile boolean running = true;
+    private volatile Socket socket;
+
+    public ForwardingAgent(InetSocketAddress botAddress, File directory, String agentId, String token,
+                           long pollInterval, int batchBytes, int maxInFlight, Path stateFile) {
+        this.botAddress = botAddress;
+        this.directory = directory;
+        this.agentId = agentId;
+        this.token = token;
+        this.pollInterval = pollInterval;
+        this.batchBytes = batchBytes;
+        this.maxInFlight = maxInFlight;
+        this.stateFile = stateFile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String bot = "127.0.0.1:9480";
+        String dir = "./discord_events";
+        String id = null;
+        String token = "";
+        long poll = 250;
+        int batchBytes = 64 * 1024;
+        int maxInFlight = 64;
+        String state = "forwarder_state.json";
+
+        for (String arg : args) {
+            if (arg.startsWith("--bot=")) bot = arg.substring("--bot=".length());
+            else if (arg.startsWith("--dir=")) dir = arg.substring("--dir=".length());
+            else if (arg.startsWith("--id=")) id = arg.substring("--id=".length());
+            else if (arg.startsWith("--token=")) token = arg.substring("--token=".length());
+            else if (arg.startsWith("--poll=")) poll = Long.parseLong(arg.substring("--poll=".length()));
+            else if (arg.startsWith("--batch-bytes=")) batchBytes = Integer.parseInt(arg.substring("--batch-bytes=".length()));
+            else if (arg.startsWith("--max-in-flight=")) maxInFlight = Integer.parseInt(arg.substring("--max-in-flight=".length()));
+            else if (arg.startsWith("--state=")) state = arg.substring("--state=".length());
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        int colon = bot.lastIndexOf(':');
+        if (colon < 0) {
+            System.err.println("Usage: ForwardingAgent --bot=host:port [--dir=path] [--id=name] [--token=secret]");
+            System.exit(2);
+        }
+        File directory = new File(dir);
+        if (!directory.isDirectory()) {
+            logger.error("Watch directory does not exist or is not a directory: {}", dir);
+            System.exit(1);
+        }
+        // The bot keeps one sequence space per ID, so two agents on one host must not share the host name
+        if (id == null) {
+            id = InetAddress.getLocalHost().getHostName() + "-"
+                    + String.format("%08x", directory.getCanonicalPath().hashCode());
+        }
+
+        ForwardingAgent agent = new ForwardingAgent(
+                new InetSocketAddress(bot.substring(0, colon), Integer.parseInt(bot.substring(colon + 1))),
+                directory, id, token, poll, batchBytes, maxInFlight, Paths.get(state));
+        Thread main = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            agent.stop();
+            try {
+                main.join(5000);
+            } catch (InterruptedException ignored) {
+            }
+        }, THREAD_NAME + "-shutdown"));
+        agent.run();
+    }
+
+    public void stop() {
+        running = false;
+        closeQuietly(socket);
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    public void run() {
+        loadState();
+        logger.info("Forwarding {} as agent '{}' to {}", directory.getAbsolutePath(), agentId, botAddress);
+
+        long backoff = MIN_BACKOFF_MS;
+        while (running) {
+            try (Socket connection = new Socket()) {
+                connection.connect(botAddress, 5000);
+                connection.setTcpNoDelay(true);
+                connection.setKeepAlive(true);
+                socket = connection;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(connection.getOutputStream(), 64 * 1024));
+
+                long lastSeq = handshake(in, out);
+                backoff = MIN_BACKOFF_MS;
+                int resent = resume(lastSeq, out);
+                logger.info("Connected to {}, bot has frames up to {}, resent {}", botAddress, lastSeq, resent);
+
+                Thread acks = new Thread(() -> readAcks(in, connection), THREAD_NAME + "-acks");
+                acks.setDaemon(true);
+                acks.start();
+                forward(out, connection);
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Connection to {} lost: {}. Retrying in {} ms", botAddress, e.getMessage(), backoff);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            socket = null;
+            saveState(true);
+
+            if (!running) break;
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+
+        deflater.end();
+        saveState(true);
+        logger.info("Forwarding agent stopped");
+    }
+
+    private long handshake(DataInputStream in, DataOutputStream out) throws IOException {
+        out.writeInt(ForwardingProtocol.MAGIC);
+        out.writeByte(ForwardingProtocol.VERSION);
+        out.writeUTF(agentId);
+        out.writeUTF(token);
+        out.flush();
+
+        byte status = in.readByte();
+        long lastSeq = in.readLong();
+        if (status == ForwardingProtocol.STATUS_IN_USE) {
+            throw new IOException("Agent ID '" + agentId + "' is already connected to the bot; give each agent its own --id");
+        }
+        if (status != ForwardingProtocol.STATUS_OK) {
+            throw new IOException("Bot rejected agent '" + agentId + "', check forwardingToken");
+        }
+        return lastSeq;
+    }
+
+    // Frames the bot already has count as acknowledged; the rest go out again in order
+    private int resume(long lastSeq, DataOutputStream out) throws IOException {
+        List<Frame> pending;
+        synchronized (this) {
+            acknowledge(lastSeq);
+            // The state file was lost but the bot remembers us, so continue above what it has seen
+            if (nextSeq <= lastSeq) {
+                nextSeq = lastSeq + 1;
+            }
+            pending = new ArrayList<>(unacked);
+        }
+        for (Frame frame : pending) {
+            ForwardingProtocol.writeData(out, frame.seq, frame.payload, frame.rawLength);
+        }
+        return pending.size();
+    }
+
+    private void forward(DataOutputStream out, Socket connection) throws IOException, InterruptedException {
+        long lastSend = System.currentTimeMillis();
+        while (running) {
+            synchronized (this) {
+                while (unacked.size() >= maxInFlight && running && !connection.isClosed()) {
+                    wait(pollInterval);
+                }
+            }
+            if (connection.isClosed()) {
+                throw new EOFException("connection closed");
+            }
+
+            int sent = pollFiles(out);
+            long now = System.currentTimeMillis();
+            if (sent > 0) {
+                lastSend = now;
+            } else if (now - lastSend >= ForwardingProtocol.PING_INTERVAL_MS) {
+                out.writeByte(ForwardingProtocol.FRAME_PING);
+                out.flush();
+                lastSend = now;
+            }
+            saveState(false);
+
+            // A full batch means more is probably waiting, so only sleep once the files are drained
+            if (sent == 0) {
+                Thread.sleep(pollInterval);
+            }
+        }
+    }
+
+    private int pollFiles(DataOutputStream out) throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".txt"));
+        if (files == null) return 0;
+
+        batch = new Batch();
+        int sent = 0;
+        for (File file : files) {
+            Tail tail = tailFor(file);
+            long size = file.length();
+
+            if (size < tail.readOffset) {
+                logger.info("File {} shrank below the read offset, forwarding from the start", file.getName());
+                resetTail(tail);
+            } else if (size > MAX_FILE_SIZE && size == tail.readOffset && isFullyAcked(tail)) {
+                truncate(file, tail);
+                continue;
+            }
+            if (size > tail.readOffset) {
+                sent += readLines(file, tail, out);
+            }
+        }
+        // Sent even when only blank lines were read, so their offsets get acknowledged too
+        if (!batch.marks.isEmpty()) {
+            send(out);
+            sent++;
+        }
+        return sent;
+    }
+
+    private synchronized Tail tailFor(File file) {
+        Tail tail = tails.get(file.getName());
+        if (tail == null) {
+            tail = new Tail(file.getName().replace(".txt", ""));
+            // On a first run the current contents are residual events, as the bot treats them on startup
+            if (!hasSavedState) {
+                tail.readOffset = file.length();
+                tail.ackedOffset = tail.readOffset;
+                stateDirty = true;
+            }
+            tails.put(file.getName(), tail);
+            logger.info("Forwarding {} as server '{}' from offset {}", file.getName(), tail.serverName,
+                    tail.readOffset);
+        }
+        return tail;
+    }
+
+    // Appends the complete lines after the read offset to the current batch, sending it whenever it fills up
+    private int readLines(File file, Tail tail, DataOutputStream out) throws IOException {
+        int sent = 0;
+        try (FileInputStream in = new FileInputStream(file)) {
+            FileChannel channel = in.getChannel();
+            channel.position(tail.readOffset);
+
+            long position = tail.readOffset;
+            int lineLength = 0;
+            int n;
+            while ((n = in.read(readBuffer)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    byte b = readBuffer[i];
+                    if (b != '\n') {
+                        if (lineLength == lineBuffer.length) {
+                            lineBuffer = Arrays.copyOf(lineBuffer, lineLength * 2);
+                        }
+                        lineBuffer[lineLength++] = b;
+                        continue;
+                    }
+
+                    int length = lineLength > 0 && lineBuffer[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                    lineLength = 0;
+                    byte[] line = new String(lineBuffer, 0, length, fileCharset).getBytes(StandardCharsets.UTF_8);
+                    if (batch.length > 0 && batch.length + line.length + tail.serverName.length() + 3 > batchBytes) {
+                        send(out);
+                        sent++;
+                        batch = new Batch();
+                    }
+                    if (line.length > 0) {
+                        batch.appendLine(tail, line);
+                    }
+                    tail.readOffset = position + i + 1;
+                    batch.mark(tail);
+                }
+                position += n;
+            }
+        }
+        return sent;
+    }
+
+    private void send(DataOutputStream out) throws IOException {
+        byte[] payload = ForwardingProtocol.compress(deflater, batch.bytes, batch.length);
+        Frame frame;
+        synchronized (this) {
+            frame = new Frame(nextSeq++, payload, batch.length, batch.marks);
+            unacked.addLast(frame);
+        }
+        ForwardingProtocol.writeData(out, frame.seq, frame.payload, frame.rawLength);
+    }
+
+    private void readAcks(DataInputStream in, Socket connection) {
+        try {
+            while (running) {
+                byte type = in.readByte();
+                if (type != ForwardingProtocol.FRAME_ACK) {
+                    throw new IOException("Unexpected frame type " + type);
+                }
+                long seq = in.readLong();
+                synchronized (this) {
+                    acknowledge(seq);
+                    notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Ack reader stopped: {}", e.getMessage());
+        } finally {
+            closeQuietly(connection);
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void acknowledge(long seq) {
+        while (!unacked.isEmpty() && unacked.peekFirst().seq <= seq) {
+            Frame frame = unacked.pollFirst();
+            for (Mark mark : frame.marks) {
+                if (mark.tail.generation == mark.generation && mark.offset > mark.tail.ackedOffset) {
+                    mark.tail.ackedOffset = mark.offset;
+                }
+            }
+            stateDirty = true;
+        }
+    }
+
+    private synchronized boolean isFullyAcked(Tail tail) {
+        return tail.ackedOffset == tail.readOffset;
+    }
+
+    private synchronized void resetTail(Tail tail) {
+        tail.generation++;
+        tail.readOffset = 0;
+        tail.ackedOffset = 0;
+        stateDirty = true;
+    }
+
+    private void truncate(File file, Tail tail) {
+        try (FileWriter writer = new FileWriter(file, false)) {
+            writer.write("");
+            resetTail(tail);
+            logger.info("Cleared forwarded file {} after it reached {} bytes", file.getName(), MAX_FILE_SIZE);
+        } catch (IOException e) {
+            logger.error("Failed to clear file content: {}", file.getName(), e);
+        }
+    }
+
+    private void loadState() {
+        File file = stateFile.toFile();
+        if (!file.exists()) {
+            logger.info("No state file at {}, existing events are not forwarded", stateFile);
+            return;
+        }
+        try {
+            AgentState state = objectMapper.readValue(file, AgentState.class);
+            synchronized (this) {
+                hasSavedState = true;
+                nextSeq = Math.max(1, state.nextSeq);
+                for (Map.Entry<String, Long> entry : state.offsets.entrySet()) {
+                    Tail tail = new Tail(entry.getKey().replace(".txt", ""));
+                    tail.readOffset = entry.getValue();
+                    tail.ackedOffset = entry.getValue();
+                    tails.put(entry.getKey(), tail);
+                }
+            }
+            logger.info("Resuming {} files from {}", state.offsets.size(), stateFile);
+        } catch (IOException e) {
+            logger.warn("Could not read state file {}, starting from the end of each file", stateFile, e);
+        }
+    }
+
+    // Only acknowledged offsets are saved, so anything in flight is read and sent again after a restart
+    private void saveState(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now - lastStateSave < STATE_SAVE_INTERVAL_MS) return;
+
+        AgentState state = new AgentState();
+        synchronized (this) {
+            if (!stateDirty) return;
+            state.agentId = agentId;
+            state.nextSeq = nextSeq;
+            for (Map.Entry<String, Tail> entry : tails.entrySet()) {
+                state.offsets.put(entry.getKey(), entry.getValue().ackedOffset);
+            }
+            stateDirty = false;
+            hasSavedState = true;
+        }
+        lastStateSave = now;
+
+        try {
+            Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), state);
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save state to {}", stateFile, e);
+            synchronized (this) {
+                stateDirty = true;
+            }
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    public static class AgentState {
+        public String agentId;
+        public long nextSeq;
+        public Map<String, Long> offsets = new TreeMap<>();
+    }
+
+    private static class Tail {
+        final String serverName;
+        // Bumped when the file is cleared, so acks for frames read before that no longer move its offset
+        int generation;
+        long readOffset;
+        long ackedOffset;
+
+        Tail(String serverName) {
+            this.serverName = serverName;
+        }
+    }
+
+    private record Mark(Tail tail, int generation, long offset) {
+    }
+
+    private record Frame(long seq, byte[] payload, int rawLength, List<Mark> marks) {
+    }
+
+    // Payload text being built: "@server" header lines followed by that server's event lines
+    private static class Batch {
+        final List<Mark> marks = new ArrayList<>();
+        byte[] bytes = new byte[4096];
+        int length;
+        Tail current;
+
+        void appendLine(Tail tail, byte[] line) {
+            if (tail != current) {
+                append(("@" + tail.serverName).getBytes(StandardCharsets.UTF_8));
+                current = tail;
+            }
+            append(line);
+        }
+
+        void mark(Tail tail) {
+            Mark last = marks.isEmpty() ? null : marks.get(marks.size() - 1);
+            if (last != null && last.tail == tail) {
+                marks.set(marks.size() - 1, new Mark(tail, tail.generation, tail.readOffset));
+            } else {
+                marks.add(new Mark(tail, tail.generation, tail.readOffset));
+            }
+        }
+
+        private void append(byte[] line) {
+            if (length + line.length + 1 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + line.length + 1));
+            }
+            System.arraycopy(line, 0, bytes, length, line.length);
+            length += line.length;
+            bytes[length++] = '\n';
+        }
+    }
+}
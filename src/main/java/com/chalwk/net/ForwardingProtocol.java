@@ -0,0 +1,102 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.net;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ * Wire format between ForwardingAgent and ForwardingReceiver, all big-endian over one TCP connection.
+ *
+ *   agent hello:  int MAGIC, byte VERSION, UTF agentId, UTF token
+ *   bot reply:    byte STATUS_OK | STATUS_REJECTED | STATUS_IN_USE, long last sequence number accepted from this agent
+ *   data frame:   byte FRAME_DATA, long seq, int raw length, int compressed length, deflated payload
+ *   ping:         byte FRAME_PING                      (agent, when idle, so dead connections are noticed)
+ *   ack:          byte FRAME_ACK, long seq             (bot, cumulative: everything up to seq is handled)
+ *
+ * The payload is UTF-8 text: a line "@Server Name" names the server for the event lines after it.
+ */
+final class ForwardingProtocol {
+
+    static final int MAGIC = 0x53415050;
+    static final byte VERSION = 1;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_REJECTED = 1;
+    // Another live connection already uses this agent ID
+    static final byte STATUS_IN_USE = 2;
+
+    static final byte FRAME_DATA = 1;
+    static final byte FRAME_ACK = 2;
+    static final byte FRAME_PING = 3;
+
+    static final int MAX_PAYLOAD = 4 * 1024 * 1024;
+    static final int PING_INTERVAL_MS = 10_000;
+    static final int READ_TIMEOUT_MS = 3 * PING_INTERVAL_MS;
+
+    private ForwardingProtocol() {
+    }
+
+    static void writeData(DataOutputStream out, long seq, byte[] payload, int rawLength) throws IOException {
+        out.writeByte(FRAME_DATA);
+        out.writeLong(seq);
+        out.writeInt(rawLength);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    static byte[] compress(Deflater deflater, byte[] raw, int length) {
+        deflater.reset();
+        deflater.setInput(raw, 0, length);
+        deflater.finish();
+        byte[] out = new byte[Math.max(64, length / 2)];
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            size += deflater.deflate(out, size, out.length - size);
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    // Reads the rest of a data frame after its type byte
+    static String readPayload(DataInputStream in, Inflater inflater) throws IOException {
+        int rawLength = in.readInt();
+        int compressedLength = in.readInt();
+        if (rawLength < 0 || rawLength > MAX_PAYLOAD || compressedLength < 0 || compressedLength > MAX_PAYLOAD) {
+            throw new IOException("Frame too large: " + rawLength + "/" + compressedLength + " bytes");
+        }
+
+        byte[] compressed = new byte[compressedLength];
+        in.readFully(compressed);
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int size = 0;
+            while (size < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, size, rawLength - size);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                size += n;
+            }
+            if (size != rawLength) {
+                throw new IOException("Frame decompressed to " + size + " bytes, expected " + rawLength);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt frame", e);
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.net;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.FileWatcher;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.output.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Inflater;
+
+/**
+ * Accepts connections from {@link ForwardingAgent}s on other hosts, so one bot and one Discord connection can serve
+ * game servers spread over several machines. Each agent keeps one TCP connection open and sends sequence-numbered,
+ * compressed batches of event lines; every batch is dispatched like a line from the local event files and then
+ * acknowledged.
+ * <p>
+ * The last sequence number handled per agent is kept for the life of the process. When an agent reconnects it is told
+ * that number and resends only what came after it, and a batch that arrives twice is dropped. A second connection with
+ * an agent ID that is still connected is turned away, since the two would share one sequence space. Server names are
+ * prefixed per agent ({@code forwardingServerPrefixes}, by default {@code "<agent ID>/"}), so two hosts that both have
+ * a {@code server1.txt} stay two servers.
+ */
+public class ForwardingReceiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForwardingReceiver.class);
+
+    public static final String THREAD_NAME = "forwarding-receiver";
+
+    private final ConfigManager configManager;
+    private final LineDispatcher dispatcher;
+    private final Map<String, Agent> agents = new ConcurrentHashMap<>();
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ForwardingReceiver(ConfigManager configManager, OutputSink outputSink, EventProcessor eventProcessor) {
+        this.configManager = configManager;
+        this.dispatcher = new LineDispatcher(configManager, outputSink, eventProcessor);
+    }
+
+    public void setEventListener(FileWatcher.EventListener listener) {
+        dispatcher.setEventListener(listener);
+    }
+
+    public boolean startListening() {
+        if (running) {
+            logger.warn("Forwarding receiver is already running");
+            return true;
+        }
+
+        AppConfig config = configManager.getConfig();
+        try {
+            serverSocket = new ServerSocket(config.getForwardingPort(), 50,
+                    InetAddress.getByName(config.getForwardingBindAddress()));
+        } catch (IOException e) {
+            logger.error("Failed to listen for forwarding agents on {}:{}",
+                    config.getForwardingBindAddress(), config.getForwardingPort(), e);
+            return false;
+        }
+        if (config.getForwardingToken() == null || config.getForwardingToken().isEmpty()) {
+            logger.warn("forwardingToken is empty, any agent that can reach port {} is accepted",
+                    config.getForwardingPort());
+        }
+
+        running = true;
+        Metrics.registerGauge("sapp_forwarding_agents", "Forwarding agents currently connected", this::connectedAgents);
+        Thread thread = new Thread(this::acceptLoop, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Listening for forwarding agents on {}:{}", config.getForwardingBindAddress(),
+                config.getForwardingPort());
+        return true;
+    }
+
+    public void stopListening() {
+        if (!running) return;
+
+        running = false;
+        closeQuietly(serverSocket);
+        for (Agent agent : agents.values()) {
+            synchronized (agent) {
+                closeQuietly(agent.socket);
+                agent.socket = null;
+            }
+        }
+        Metrics.unregisterGauge("sapp_forwarding_agents");
+        logger.info("Forwarding receiver stopped");
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> serve(socket), THREAD_NAME + "-" + socket.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (running) {
+                    logger.error("Error accepting forwarding agent", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        String agentId = null;
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(ForwardingProtocol.READ_TIMEOUT_MS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            if (in.readInt() != ForwardingProtocol.MAGIC || in.readByte() != ForwardingProtocol.VERSION) {
+                logger.warn("Rejecting forwarding connection from {}: not a compatible agent",
+                        socket.getRemoteSocketAddress());
+                return;
+            }
+            agentId = in.readUTF();
+            String token = in.readUTF();
+            if (!tokenMatches(token)) {
+                logger.warn("Rejecting forwarding agent '{}' from {}: wrong token", agentId,
+                        socket.getRemoteSocketAddress());
+                out.writeByte(ForwardingProtocol.STATUS_REJECTED);
+                out.writeLong(0);
+                out.flush();
+                return;
+            }
+
+            Agent agent = agents.computeIfAbsent(agentId, k -> new Agent());
+            long lastSeq;
+            synchronized (agent) {
+                // A dropped connection is noticed within READ_TIMEOUT_MS, after which the agent gets back in
+                if (agent.socket != null) {
+                    logger.warn("Rejecting forwarding agent '{}' from {}: that agent ID is already connected from {}",
+                            agentId, socket.getRemoteSocketAddress(), agent.socket.getRemoteSocketAddress());
+                    out.writeByte(ForwardingProtocol.STATUS_IN_USE);
+                    out.writeLong(0);
+                    out.flush();
+                    return;
+                }
+                agent.socket = socket;
+                lastSeq = agent.lastSeq;
+            }
+            out.writeByte(ForwardingProtocol.STATUS_OK);
+            out.writeLong(lastSeq);
+            out.flush();
+            logger.info("Forwarding agent '{}' connected from {}, resuming after frame {}", agentId,
+                    socket.getRemoteSocketAddress(), lastSeq);
+
+            Inflater inflater = new Inflater();
+            try {
+                readFrames(agentId, agent, socket, in, out, inflater);
+            } finally {
+                inflater.end();
+                synchronized (agent) {
+                    if (agent.socket == socket) agent.socket = null;
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            logger.info("Forwarding agent '{}' disconnected", agentId);
+        } catch (SocketTimeoutException e) {
+            logger.warn("Forwarding agent '{}' went quiet, dropping the connection", agentId);
+        } catch (IOException e) {
+            logger.warn("Forwarding connection from agent '{}' failed: {}", agentId, e.getMessage());
+        }
+    }
+
+    private void readFrames(String agentId, Agent agent, Socket socket, DataInputStream in, DataOutputStream out,
+                            Inflater inflater) throws IOException {
+        while (running) {
+            byte type = in.readByte();
+            if (type == ForwardingProtocol.FRAME_PING) continue;
+            if (type != ForwardingProtocol.FRAME_DATA) {
+                throw new IOException("Unknown frame type " + type);
+            }
+
+            long seq = in.readLong();
+            String payload = ForwardingProtocol.readPayload(in, inflater);
+
+            // Held while dispatching so a replacing connection cannot see a stale sequence number
+            synchronized (agent) {
+                if (agent.socket != socket) return;
+                if (seq <= agent.lastSeq) {
+                    Metrics.FORWARD_DUPLICATES.increment();
+                    logger.debug("Dropping frame {} from agent '{}', already handled", seq, agentId);
+                } else {
+                    dispatchPayload(agentId, payload);
+                    agent.lastSeq = seq;
+                    Metrics.FORWARD_FRAMES.increment();
+                }
+            }
+
+            out.writeByte(ForwardingProtocol.FRAME_ACK);
+            out.writeLong(seq);
+            out.flush();
+        }
+    }
+
+    private void dispatchPayload(String agentId, String payload) {
+        String prefix = configManager.getConfig().getForwardingServerPrefixes().getOrDefault(agentId, agentId + "/");
+        String serverName = null;
+        int start = 0;
+        while (start < payload.length()) {
+            int end = payload.indexOf('\n', start);
+            if (end < 0) end = payload.length();
+            if (end > start) {
+                if (payload.charAt(start) == '@') {
+                    String name = payload.substring(start + 1, end).trim();
+                    serverName = name.isEmpty() ? null : prefix + name;
+                } else if (serverName == null || serverName.isEmpty()) {
+                    Metrics.SOCKET_DROPPED.increment();
+                } else {
+                    Metrics.FORWARD_LINES.increment();
+                    dispatcher.dispatch(payload.substring(start, end), serverName);
+                }
+            }
+            start = end + 1;
+        }
+    }
+
+    private boolean tokenMatches(String token) {
+        String expected = configManager.getConfig().getForwardingToken();
+        if (expected == null || expected.isEmpty()) return true;
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long connectedAgents() {
+        long count = 0;
+        for (Agent agent : agents.values()) {
+            if (agent.socket != null) count++;
+        }
+        return count;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static class Agent {
+        volatile Socket socket;
+        long lastSeq;
+    }
+}
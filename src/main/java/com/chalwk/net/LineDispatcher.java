@@ -0,0 +1,102 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.net;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.EventLineParser;
+import com.chalwk.file.FileWatcher;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.model.RawEvent;
+import com.chalwk.output.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Hands one received event line to the EventProcessor the same way the file watcher does
+class LineDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LineDispatcher.class);
+
+    private static final int MAX_SERVER_NAME_LENGTH = 64;
+
+    private final ConfigManager configManager;
+    private final OutputSink outputSink;
+    private final EventProcessor eventProcessor;
+    // Server names seen so far; senders choose them, so new ones are capped at maxRemoteServers
+    private final Set<String> servers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean warnedOverLimit = new AtomicBoolean();
+    private volatile FileWatcher.EventListener eventListener;
+
+    LineDispatcher(ConfigManager configManager, OutputSink outputSink, EventProcessor eventProcessor) {
+        this.configManager = configManager;
+        this.outputSink = outputSink;
+        this.eventProcessor = eventProcessor;
+    }
+
+    void setEventListener(FileWatcher.EventListener listener) {
+        this.eventListener = listener;
+    }
+
+    void dispatch(String line, String serverName) {
+        if (line.trim().isEmpty()) return;
+
+        if (!acceptServer(serverName)) {
+            Metrics.SOCKET_DROPPED.increment();
+            return;
+        }
+
+        long readNanos = System.nanoTime();
+        try {
+            String configKey = EventLineParser.peekConfigKey(line);
+            if (!eventProcessor.isEnabled(serverName, configKey) && !EventProcessor.isGameBoundary(configKey)) {
+                Metrics.LINES_SKIPPED.increment();
+                return;
+            }
+
+            RawEvent event = EventLineParser.parseEventLine(line);
+            event.setReadNanos(readNanos);
+            event.setParsedNanos(System.nanoTime());
+            Metrics.LINES_PARSED.increment();
+
+            configManager.getConfig().ensureServerChannels(serverName);
+            eventProcessor.processRawEvent(event, outputSink, serverName);
+
+            FileWatcher.EventListener listener = eventListener;
+            if (listener != null) {
+                listener.onEventProcessed(event, serverName);
+            }
+        } catch (Exception e) {
+            Metrics.PARSE_FAILURES.increment();
+            logger.warn("Failed to handle event from server '{}': {}", serverName, line, e);
+        }
+    }
+
+    // Every accepted name gets channel entries and metric series, so unknown names stop at the limit
+    private boolean acceptServer(String serverName) {
+        if (servers.contains(serverName)) return true;
+
+        AppConfig config = configManager.getConfig();
+        boolean configured = config.getSocketServerPorts().containsKey(serverName)
+                || config.getServerEventConfigs().containsKey(serverName)
+                || config.getChannels().containsKey(serverName + "_GENERAL");
+        if (!configured && (serverName.length() > MAX_SERVER_NAME_LENGTH
+                || servers.size() >= config.getMaxRemoteServers())) {
+            if (warnedOverLimit.compareAndSet(false, true)) {
+                logger.warn("Dropping events for unknown server '{}' and any like it: over the limit of {} remote "
+                        + "servers or {} characters", serverName, config.getMaxRemoteServers(), MAX_SERVER_NAME_LENGTH);
+            }
+            return false;
+        }
+        servers.add(serverName);
+        return true;
+    }
+}
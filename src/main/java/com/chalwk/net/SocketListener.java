@@ -0,0 +1,300 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.net;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.FileWatcher;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.output.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Receives event lines over UDP and TCP instead of files, so the game server needs no disk writes and events arrive
+ * without waiting for the next poll. Lines use the same format as the event files: one per datagram or per
+ * newline-terminated line on a TCP connection, and a datagram may also carry several newline-separated lines.
+ * <p>
+ * On the shared port a line of the form {@code @Server Name} sets the server for the lines after it, for the rest of
+ * the datagram or connection. Ports in {@code socketServerPorts} belong to one server and need no header. One selector
+ * thread serves every port and feeds the same EventProcessor as the FileWatcher, which keeps running alongside.
+ */
+public class SocketListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SocketListener.class);
+
+    public static final String THREAD_NAME = "socket-listener";
+
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int MAX_DATAGRAMS_PER_WAKEUP = 256;
+
+    private final ConfigManager configManager;
+    private final LineDispatcher dispatcher;
+    private final Charset charset = Charset.defaultCharset();
+    // Only touched from the selector thread
+    private final ByteBuffer datagramBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+    private final LineReader datagramLines = new LineReader(null);
+    private Selector selector;
+    private Thread thread;
+    private volatile boolean running;
+
+    public SocketListener(ConfigManager configManager, OutputSink outputSink, EventProcessor eventProcessor) {
+        this.configManager = configManager;
+        this.dispatcher = new LineDispatcher(configManager, outputSink, eventProcessor);
+    }
+
+    public void setEventListener(FileWatcher.EventListener listener) {
+        dispatcher.setEventListener(listener);
+    }
+
+    public boolean startListening() {
+        if (running) {
+            logger.warn("Socket listener is already running");
+            return true;
+        }
+
+        AppConfig config = configManager.getConfig();
+        try {
+            selector = Selector.open();
+            bind(config.getSocketBindAddress(), config.getSocketPort(), null);
+            for (Map.Entry<String, Integer> entry : config.getSocketServerPorts().entrySet()) {
+                bind(config.getSocketBindAddress(), entry.getValue(), entry.getKey());
+            }
+        } catch (IOException e) {
+            logger.error("Failed to open event sockets on {}", config.getSocketBindAddress(), e);
+            closeAll();
+            return false;
+        }
+
+        running = true;
+        thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public void stopListening() {
+        if (!running) return;
+
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeAll();
+        logger.info("Socket listener stopped");
+    }
+
+    private void bind(String address, int port, String serverName) throws IOException {
+        InetSocketAddress socketAddress = new InetSocketAddress(address, port);
+
+        DatagramChannel udp = DatagramChannel.open();
+        udp.configureBlocking(false);
+        udp.setOption(StandardSocketOptions.SO_RCVBUF, 1024 * 1024);
+        udp.bind(socketAddress);
+        udp.register(selector, SelectionKey.OP_READ, serverName);
+
+        ServerSocketChannel tcp = ServerSocketChannel.open();
+        tcp.configureBlocking(false);
+        tcp.bind(socketAddress);
+        tcp.register(selector, SelectionKey.OP_ACCEPT, serverName);
+
+        logger.info("Listening for events on udp/tcp {}:{}{}", address, port,
+                serverName != null ? " for server '" + serverName + "'" : " (server named by @header)");
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    try {
+                        if (key.isAcceptable()) {
+                            accept(key);
+                        } else if (key.channel() instanceof DatagramChannel) {
+                            receiveDatagrams(key);
+                        } else {
+                            readStream(key);
+                        }
+                    } catch (IOException e) {
+                        logger.debug("Closing event connection: {}", e.getMessage());
+                        closeQuietly(key);
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                return;
+            } catch (Exception e) {
+                logger.error("Error in socket listener", e);
+            }
+        }
+    }
+
+    private void accept(SelectionKey key) throws IOException {
+        SocketChannel connection = ((ServerSocketChannel) key.channel()).accept();
+        if (connection == null) return;
+
+        connection.configureBlocking(false);
+        connection.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        connection.register(selector, SelectionKey.OP_READ, new Connection((String) key.attachment()));
+        logger.info("Event connection from {}", connection.getRemoteAddress());
+    }
+
+    private void receiveDatagrams(SelectionKey key) throws IOException {
+        DatagramChannel channel = (DatagramChannel) key.channel();
+        String portServer = (String) key.attachment();
+
+        // Bounded so a flood on one port cannot starve the others
+        for (int i = 0; i < MAX_DATAGRAMS_PER_WAKEUP; i++) {
+            datagramBuffer.clear();
+            if (channel.receive(datagramBuffer) == null) return;
+
+            datagramBuffer.flip();
+            // A header only applies to the datagram it arrived in
+            datagramLines.reset(portServer);
+            datagramLines.feed(datagramBuffer);
+            datagramLines.finish();
+        }
+    }
+
+    private void readStream(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        connection.buffer.clear();
+        int read = channel.read(connection.buffer);
+        if (read < 0) {
+            logger.info("Event connection closed by {}", channel.getRemoteAddress());
+            connection.lines.finish();
+            closeQuietly(key);
+            return;
+        }
+
+        connection.buffer.flip();
+        connection.lines.feed(connection.buffer);
+    }
+
+    private void dispatch(String line, String serverName) {
+        if (serverName == null || serverName.isEmpty()) {
+            Metrics.SOCKET_DROPPED.increment();
+            logger.debug("Dropping event without a server name: {}", line);
+            return;
+        }
+        dispatcher.dispatch(line, serverName);
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void closeAll() {
+        if (selector == null) return;
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+        selector = null;
+    }
+
+    private class Connection {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        final LineReader lines;
+
+        Connection(String portServer) {
+            this.lines = new LineReader(portServer);
+        }
+    }
+
+    // Splits bytes into lines, handling "@name" headers; lines over the limit are dropped up to their newline
+    private class LineReader {
+        private String portServer;
+        private String headerServer;
+        private byte[] line = new byte[256];
+        private int length;
+        private boolean overflow;
+
+        LineReader(String portServer) {
+            this.portServer = portServer;
+        }
+
+        void reset(String portServer) {
+            this.portServer = portServer;
+            this.headerServer = null;
+            this.length = 0;
+            this.overflow = false;
+        }
+
+        void feed(ByteBuffer bytes) {
+            while (bytes.hasRemaining()) {
+                byte b = bytes.get();
+                if (b == '\n') {
+                    endLine();
+                } else if (length < MAX_LINE_LENGTH) {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE_LENGTH));
+                    }
+                    line[length++] = b;
+                } else {
+                    overflow = true;
+                }
+            }
+        }
+
+        // A trailing line without a newline still counts at the end of a datagram or connection
+        void finish() {
+            if (length > 0 || overflow) {
+                endLine();
+            }
+        }
+
+        private void endLine() {
+            int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+            length = 0;
+            if (overflow) {
+                overflow = false;
+                Metrics.SOCKET_DROPPED.increment();
+                logger.warn("Dropping event line longer than {} bytes", MAX_LINE_LENGTH);
+                return;
+            }
+            if (end == 0) return;
+
+            String text = new String(line, 0, end, charset);
+            if (text.charAt(0) == '@') {
+                headerServer = text.substring(1).trim();
+                return;
+            }
+            Metrics.SOCKET_LINES.increment();
+            dispatch(text, portServer != null ? portServer : headerServer);
+        }
+    }
+}
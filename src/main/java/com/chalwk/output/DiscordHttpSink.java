@@ -0,0 +1,305 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.output;
+
+import com.chalwk.metrics.Metrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends messages over Discord's HTTP API without a gateway connection, either to channel webhooks or to the REST
+ * channel message endpoint with a bot token. Each webhook or channel is its own queue, matching Discord's per-route
+ * buckets: messages in a queue go out one at a time and in order, the queue pauses when the bucket is exhausted or a
+ * 429 arrives, and 5xx responses are retried with backoff.
+ */
+public class DiscordHttpSink implements OutputSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscordHttpSink.class);
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 250;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "discord-http-sink");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, RouteQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, String> webhookUrls;
+    private final String restBaseUrl;
+    private final String botToken;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private volatile long globalBlockedUntilNanos;
+
+    private DiscordHttpSink(Map<String, String> webhookUrls, String restBaseUrl, String botToken) {
+        this.webhookUrls = webhookUrls;
+        this.restBaseUrl = restBaseUrl;
+        this.botToken = botToken;
+        this.globalBlockedUntilNanos = System.nanoTime();
+    }
+
+    // Channel ID to webhook URL; channels without a webhook are dropped with a warning
+    public static DiscordHttpSink webhooks(Map<String, String> webhookUrls) {
+        return new DiscordHttpSink(webhookUrls, null, null);
+    }
+
+    // e.g. https://discord.com/api/v10
+    public static DiscordHttpSink rest(String baseUrl, String botToken) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return new DiscordHttpSink(null, base, botToken);
+    }
+
+    @Override
+    public void sendMessage(String channelId, String message, Runnable onDelivered) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("content", message.length() > 2000 ? message.substring(0, 1997) + "..." : message);
+        enqueue(channelId, body.toString(), onDelivered);
+    }
+
+    @Override
+    public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+        enqueue(channelId, "{\"embeds\":[" + embed.toData() + "]}", onDelivered);
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    private void enqueue(String channelId, String json, Runnable onDelivered) {
+        String url = webhookUrls != null ? webhookUrls.get(channelId) : restBaseUrl + "/channels/" + channelId + "/messages";
+        if (url == null || url.isEmpty()) {
+            Metrics.MESSAGES_FAILED.increment();
+            logger.warn("No webhook configured for channel {}", channelId);
+            return;
+        }
+
+        Metrics.SEND_QUEUE_DEPTH.increment();
+        Metrics.channelQueueDepth(channelId).increment();
+        RouteQueue queue = queues.computeIfAbsent(url, RouteQueue::new);
+        synchronized (queue) {
+            queue.pending.addLast(new Pending(channelId, json, onDelivered));
+        }
+        pump(queue);
+    }
+
+    private void pump(RouteQueue queue) {
+        Pending next;
+        synchronized (queue) {
+            if (queue.inFlight || queue.pending.isEmpty()) return;
+
+            long waitNanos = Math.max(queue.blockedUntilNanos, globalBlockedUntilNanos) - System.nanoTime();
+            if (waitNanos > 0) {
+                if (!queue.wakeScheduled) {
+                    queue.wakeScheduled = true;
+                    scheduler.schedule(() -> {
+                        synchronized (queue) {
+                            queue.wakeScheduled = false;
+                        }
+                        pump(queue);
+                    }, waitNanos, TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+
+            next = queue.pending.pollFirst();
+            queue.inFlight = true;
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(queue.url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("User-Agent", "DiscordBot (https://github.com/Chalwk/SAPPDiscordBot, 1.0)")
+                .POST(HttpRequest.BodyPublishers.ofString(next.json));
+        if (botToken != null) {
+            request.header("Authorization", "Bot " + botToken);
+        }
+
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    try {
+                        handleResponse(queue, next, response, error);
+                    } catch (Exception e) {
+                        logger.error("Error handling response from {}", queue.url, e);
+                    } finally {
+                        synchronized (queue) {
+                            queue.inFlight = false;
+                        }
+                        pump(queue);
+                    }
+                });
+    }
+
+    private void handleResponse(RouteQueue queue, Pending pending, HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            retryOrFail(queue, pending, "request failed: " + error.getMessage());
+            return;
+        }
+
+        updateBucket(queue, response);
+        int status = response.statusCode();
+
+        if (status >= 200 && status < 300) {
+            finish(pending);
+            Metrics.MESSAGES_SENT.increment();
+            if (pending.onDelivered != null) {
+                pending.onDelivered.run();
+            }
+            return;
+        }
+
+        if (status == 429) {
+            rateLimited.increment();
+            Metrics.MESSAGES_RATE_LIMITED.increment();
+            long retryAfterNanos = retryAfterNanos(response);
+            long until = System.nanoTime() + retryAfterNanos;
+            boolean global = "true".equalsIgnoreCase(response.headers().firstValue("X-RateLimit-Global").orElse(""));
+            synchronized (queue) {
+                if (global) {
+                    globalBlockedUntilNanos = Math.max(globalBlockedUntilNanos, until);
+                } else {
+                    queue.blockedUntilNanos = Math.max(queue.blockedUntilNanos, until);
+                }
+                // Rate limits are not the message's fault, so they do not use up an attempt
+                queue.pending.addFirst(pending);
+            }
+            logger.debug("Rate limited on {} for {} ms (global: {})", queue.url, retryAfterNanos / 1_000_000, global);
+            return;
+        }
+
+        if (status >= 500) {
+            retryOrFail(queue, pending, "HTTP " + status);
+            return;
+        }
+
+        finish(pending);
+        Metrics.MESSAGES_FAILED.increment();
+        logger.error("Discord rejected message for channel {}: HTTP {} {}", pending.channelId, status, response.body());
+    }
+
+    private void retryOrFail(RouteQueue queue, Pending pending, String reason) {
+        pending.attempts++;
+        if (pending.attempts >= MAX_ATTEMPTS) {
+            finish(pending);
+            Metrics.MESSAGES_FAILED.increment();
+            logger.error("Giving up on message for channel {} after {} attempts: {}", pending.channelId, pending.attempts, reason);
+            return;
+        }
+
+        retries.increment();
+        long backoffMillis = BASE_BACKOFF_MILLIS << (pending.attempts - 1);
+        synchronized (queue) {
+            queue.blockedUntilNanos = Math.max(queue.blockedUntilNanos,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            queue.pending.addFirst(pending);
+        }
+        logger.warn("Retrying message for channel {} in {} ms ({})", pending.channelId, backoffMillis, reason);
+    }
+
+    private static void finish(Pending pending) {
+        Metrics.SEND_QUEUE_DEPTH.decrement();
+        Metrics.channelQueueDepth(pending.channelId).decrement();
+    }
+
+    // Pause before the bucket runs dry rather than waiting for the 429
+    private static void updateBucket(RouteQueue queue, HttpResponse<String> response) {
+        String remaining = response.headers().firstValue("X-RateLimit-Remaining").orElse(null);
+        String resetAfter = response.headers().firstValue("X-RateLimit-Reset-After").orElse(null);
+        if (remaining == null || resetAfter == null) return;
+
+        try {
+            if (Integer.parseInt(remaining) == 0) {
+                long until = System.nanoTime() + (long) (Double.parseDouble(resetAfter) * 1_000_000_000L);
+                synchronized (queue) {
+                    queue.blockedUntilNanos = Math.max(queue.blockedUntilNanos, until);
+                }
+            }
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private long retryAfterNanos(HttpResponse<String> response) {
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            if (body.has("retry_after")) {
+                return (long) (body.get("retry_after").asDouble() * 1_000_000_000L);
+            }
+        } catch (Exception ignored) {
+        }
+        String header = response.headers().firstValue("Retry-After").orElse("1");
+        try {
+            return (long) (Double.parseDouble(header) * 1_000_000_000L);
+        } catch (NumberFormatException e) {
+            return TimeUnit.SECONDS.toNanos(1);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (RouteQueue queue : queues.values()) {
+            synchronized (queue) {
+                for (Pending pending : queue.pending) {
+                    finish(pending);
+                }
+                if (!queue.pending.isEmpty()) {
+                    logger.warn("Dropped {} unsent messages for {}", queue.pending.size(), queue.url);
+                }
+                queue.pending.clear();
+            }
+        }
+    }
+
+    private static class RouteQueue {
+        final String url;
+        final Deque<Pending> pending = new ArrayDeque<>();
+        boolean inFlight;
+        boolean wakeScheduled;
+        long blockedUntilNanos = System.nanoTime();
+
+        RouteQueue(String url) {
+            this.url = url;
+        }
+    }
+
+    private static class Pending {
+        final String channelId;
+        final String json;
+        final Runnable onDelivered;
+        int attempts;
+
+        Pending(String channelId, String json, Runnable onDelivered) {
+            this.channelId = channelId;
+            this.json = json;
+            this.onDelivered = onDelivered;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends one JSON object per output to a file (NDJSON) for archiving
+public class FileSink implements OutputSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSink.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path path;
+    private BufferedWriter writer;
+
+    public FileSink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void sendMessage(String channelId, String message, Runnable onDelivered) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("timestamp", System.currentTimeMillis());
+        node.put("channel", channelId);
+        node.put("kind", "message");
+        node.put("content", message);
+        write(node, onDelivered);
+    }
+
+    @Override
+    public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("timestamp", System.currentTimeMillis());
+        node.put("channel", channelId);
+        node.put("kind", "embed");
+        node.put("content", embed.getDescription());
+        if (embed.getColorRaw() != Role.DEFAULT_COLOR_RAW) {
+            node.put("color", embed.getColorRaw());
+        }
+        write(node, onDelivered);
+    }
+
+    private void write(ObjectNode node, Runnable onDelivered) {
+        synchronized (this) {
+            try {
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    logger.info("Writing event output to {}", path.toAbsolutePath());
+                }
+                writer.write(objectMapper.writeValueAsString(node));
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                logger.error("Failed to write event output to {}", path, e);
+                return;
+            }
+        }
+        if (onDelivered != null) {
+            onDelivered.run();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close {}", path, e);
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.output;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+// Discards everything without acknowledging it, so benchmarks measure rendering alone
+public class NullSink implements OutputSink {
+
+    public static final NullSink INSTANCE = new NullSink();
+
+    @Override
+    public void sendMessage(String channelId, String message, Runnable onDelivered) {
+    }
+
+    @Override
+    public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+    }
+}
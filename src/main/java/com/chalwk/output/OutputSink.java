@@ -0,0 +1,42 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.output;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+import java.util.function.Consumer;
+
+// Where rendered events go. onDelivered runs once the destination has accepted the message, and may be null.
+public interface OutputSink {
+
+    String DISCORD = "discord";
+    String SHADOW = "shadow";
+    String FILE = "file";
+    String NULL = "null";
+    String RECORDING = "recording";
+    String WEBHOOK = "webhook";
+    String REST = "rest";
+
+    void sendMessage(String channelId, String message, Runnable onDelivered);
+
+    void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered);
+
+    // Posts an embed that editEmbed can change later and passes its message ID to onPosted. Sinks that cannot edit
+    // post it as usual and pass null, so every live-message update becomes a new message there.
+    default void postEditableEmbed(String channelId, MessageEmbed embed, Consumer<String> onPosted) {
+        sendEmbed(channelId, embed, null);
+        onPosted.accept(null);
+    }
+
+    // onMissing runs when the message no longer exists, e.g. someone deleted it
+    default void editEmbed(String channelId, String messageId, MessageEmbed embed, Runnable onMissing) {
+        sendEmbed(channelId, embed, null);
+    }
+
+    default void close() {
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.output;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Keeps the most recent outputs in memory and acknowledges them immediately
+public class RecordingSink implements OutputSink {
+
+    private final int capacity;
+    private final Deque<Record> records = new ArrayDeque<>();
+    private long count;
+
+    public RecordingSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void sendMessage(String channelId, String message, Runnable onDelivered) {
+        record(new Record(System.currentTimeMillis(), channelId, message, null), onDelivered);
+    }
+
+    @Override
+    public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+        record(new Record(System.currentTimeMillis(), channelId, embed.getDescription(), embed), onDelivered);
+    }
+
+    private void record(Record record, Runnable onDelivered) {
+        synchronized (records) {
+            count++;
+            if (capacity > 0) {
+                if (records.size() >= capacity) {
+                    records.pollFirst();
+                }
+                records.addLast(record);
+            }
+        }
+        if (onDelivered != null) {
+            onDelivered.run();
+        }
+    }
+
+    public List<Record> getRecords() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    public long getCount() {
+        synchronized (records) {
+            return count;
+        }
+    }
+
+    public void clear() {
+        synchronized (records) {
+            records.clear();
+            count = 0;
+        }
+    }
+
+    public record Record(long epochMillis, String channelId, String content, MessageEmbed embed) {
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.output;
+
+import com.chalwk.metrics.Metrics;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Counts what would have been sent and acknowledges it at once, so latency stats still cover rendering
+public class ShadowSink implements OutputSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShadowSink.class);
+
+    @Override
+    public void sendMessage(String channelId, String message, Runnable onDelivered) {
+        Metrics.MESSAGES_SHADOWED.increment();
+        logger.debug("Shadow message for channel {}: {}", channelId, message);
+        if (onDelivered != null) {
+            onDelivered.run();
+        }
+    }
+
+    @Override
+    public void sendEmbed(String channelId, MessageEmbed embed, Runnable onDelivered) {
+        Metrics.MESSAGES_SHADOWED.increment();
+        logger.debug("Shadow embed for channel {}: {}", channelId, embed.getDescription());
+        if (onDelivered != null) {
+            onDelivered.run();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.tools;
+
+import com.chalwk.metrics.LatencyHistogram;
+import com.chalwk.metrics.LatencyTracker;
+import com.chalwk.output.DiscordHttpSink;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the parts of Discord's HTTP API the bot posts to: {@code POST /api/v10/channels/{id}/messages}
+ * and {@code POST /api/webhooks/{id}/{token}}. Each channel or webhook is its own rate-limit bucket with Discord's
+ * headers, there is a global limit across all routes, responses are delayed by a configurable latency and a share of
+ * requests fail with a 5xx.
+ * <p>
+ * Only HTTP is simulated. JDA cannot be pointed at it because JDA needs a gateway connection before it will send, so
+ * use {@link DiscordHttpSink} (the {@code rest} or {@code webhook} output) against it instead.
+ * <p>
+ * Usage: DiscordApiSimulator [--port=8090] [--latency-ms=80] [--jitter-ms=40] [--bucket-limit=5]
+ * [--bucket-window-ms=5000] [--global-limit=50] [--error-rate=0.01] [--send=N --channels=4 [--webhooks]]
+ * <p>
+ * With {@code --send} the simulator drives N messages through DiscordHttpSink spread over the given number of
+ * channels, then prints delivery time, 429s, retries and latency percentiles and exits.
+ */
+public class DiscordApiSimulator {
+
+    private static final Pattern CHANNEL_ROUTE = Pattern.compile("^/api/v\\d+/channels/(\\d+)/messages$");
+    private static final Pattern WEBHOOK_ROUTE = Pattern.compile("^/api/webhooks/(\\d+)/([^/?]+)$");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32, r -> {
+        Thread thread = new Thread(r, "discord-simulator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket globalBucket;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final int bucketLimit;
+    private final long bucketWindowMillis;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    private final AtomicLong nextMessageId = new AtomicLong(1_300_000_000_000_000_000L);
+
+    public DiscordApiSimulator(int port, long latencyMillis, long jitterMillis, int bucketLimit, long bucketWindowMillis,
+                               int globalLimitPerSecond, double errorRate) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.bucketLimit = bucketLimit;
+        this.bucketWindowMillis = bucketWindowMillis;
+        this.errorRate = errorRate;
+        this.globalBucket = new Bucket(globalLimitPerSecond, 1000);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 8090;
+        long latency = 80;
+        long jitter = 40;
+        int bucketLimit = 5;
+        long bucketWindow = 5000;
+        int globalLimit = 50;
+        double errorRate = 0.01;
+        int send = 0;
+        int channels = 4;
+        boolean webhooks = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--latency-ms=")) latency = Long.parseLong(value(arg));
+            else if (arg.startsWith("--jitter-ms=")) jitter = Long.parseLong(value(arg));
+            else if (arg.startsWith("--bucket-limit=")) bucketLimit = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--bucket-window-ms=")) bucketWindow = Long.parseLong(value(arg));
+            else if (arg.startsWith("--global-limit=")) globalLimit = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--error-rate=")) errorRate = Double.parseDouble(value(arg));
+            else if (arg.startsWith("--send=")) send = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--channels=")) channels = Integer.parseInt(value(arg));
+            else if (arg.equals("--webhooks")) webhooks = true;
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        DiscordApiSimulator simulator = new DiscordApiSimulator(port, latency, jitter, bucketLimit, bucketWindow,
+                globalLimit, errorRate);
+        simulator.start();
+        System.out.printf("Discord API simulator on http://127.0.0.1:%d/api/v10 (latency %d±%d ms, %d per %d ms per route, " +
+                "%d/s global, %.1f%% errors)%n", port, latency, jitter, bucketLimit, bucketWindow, globalLimit, errorRate * 100);
+
+        if (send > 0) {
+            simulator.drive(port, send, channels, webhooks);
+            simulator.stop();
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::stop, "simulator-shutdown"));
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.println(simulator.stats());
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String stats() {
+        return String.format("requests=%d accepted=%d rateLimited=%d serverErrors=%d",
+                requests.get(), accepted.get(), rateLimited.get(), serverErrors.get());
+    }
+
+    private void drive(int port, int count, int channels, boolean webhooks) throws InterruptedException {
+        DiscordHttpSink sink;
+        if (webhooks) {
+            Map<String, String> urls = new HashMap<>();
+            for (int c = 0; c < channels; c++) {
+                urls.put(channelId(c), "http://127.0.0.1:" + port + "/api/webhooks/" + (900 + c) + "/simulated-token");
+            }
+            sink = DiscordHttpSink.webhooks(urls);
+        } else {
+            sink = DiscordHttpSink.rest("http://127.0.0.1:" + port + "/api/v10", "simulated-token");
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        CountDownLatch done = new CountDownLatch(count);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long enqueued = System.nanoTime();
+            sink.sendMessage(channelId(i % channels), "Simulated message " + i, () -> {
+                latency.record((System.nanoTime() - enqueued) / 1000);
+                done.countDown();
+            });
+        }
+
+        // Messages that exhaust their retries never call back, so do not wait forever
+        long expectedSeconds = (long) Math.ceil(count / (double) channels / bucketLimit * bucketWindowMillis / 1000.0);
+        boolean finished = done.await(expectedSeconds * 3 + 30, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sink.close();
+
+        System.out.printf(Locale.ROOT, "%s %d messages over %d channels via %s in %.1f s (%.1f/s)%n",
+                finished ? "Delivered" : "Timed out delivering", count - done.getCount(), channels,
+                webhooks ? "webhooks" : "REST", seconds, (count - done.getCount()) / seconds);
+        System.out.printf("Sender saw %d 429 responses and made %d retries%n", sink.getRateLimited(), sink.getRetries());
+        System.out.printf("Enqueue to delivered p50/p99/max: %s / %s / %s%n",
+                LatencyTracker.format(latency.getPercentile(50)), LatencyTracker.format(latency.getPercentile(99)),
+                LatencyTracker.format(latency.getMax()));
+        System.out.println("Simulator: " + stats());
+    }
+
+    private static String channelId(int index) {
+        return String.valueOf(100000000000000001L + index);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            requests.incrementAndGet();
+
+            String path = exchange.getRequestURI().getPath();
+            Matcher channel = CHANNEL_ROUTE.matcher(path);
+            Matcher webhook = WEBHOOK_ROUTE.matcher(path);
+            String route;
+            String channelId;
+            if (channel.matches()) {
+                route = "channel:" + channel.group(1);
+                channelId = channel.group(1);
+            } else if (webhook.matches()) {
+                route = "webhook:" + webhook.group(1);
+                channelId = webhook.group(1);
+            } else {
+                respond(exchange, 404, "{\"message\": \"404: Not Found\", \"code\": 0}");
+                return;
+            }
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"message\": \"405: Method Not Allowed\", \"code\": 0}");
+                return;
+            }
+
+            sleep(latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0));
+
+            long now = System.currentTimeMillis();
+            Bucket.Result global = globalBucket.acquire(now);
+            if (!global.allowed()) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().set("X-RateLimit-Global", "true");
+                exchange.getResponseHeaders().set("X-RateLimit-Scope", "global");
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf((long) Math.ceil(global.resetAfterMillis() / 1000.0)));
+                respond(exchange, 429, String.format(Locale.ROOT,
+                        "{\"message\": \"You are being rate limited.\", \"retry_after\": %.3f, \"global\": true}",
+                        global.resetAfterMillis() / 1000.0));
+                return;
+            }
+
+            Bucket bucket = buckets.computeIfAbsent(route, k -> new Bucket(bucketLimit, bucketWindowMillis));
+            Bucket.Result result = bucket.acquire(now);
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(bucketLimit));
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(result.remaining()));
+            exchange.getResponseHeaders().set("X-RateLimit-Reset",
+                    String.format(Locale.ROOT, "%.3f", (now + result.resetAfterMillis()) / 1000.0));
+            exchange.getResponseHeaders().set("X-RateLimit-Reset-After",
+                    String.format(Locale.ROOT, "%.3f", result.resetAfterMillis() / 1000.0));
+            exchange.getResponseHeaders().set("X-RateLimit-Bucket", Integer.toHexString(route.hashCode()));
+
+            if (!result.allowed()) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().set("X-RateLimit-Scope", "user");
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf((long) Math.ceil(result.resetAfterMillis() / 1000.0)));
+                respond(exchange, 429, String.format(Locale.ROOT,
+                        "{\"message\": \"You are being rate limited.\", \"retry_after\": %.3f, \"global\": false}",
+                        result.resetAfterMillis() / 1000.0));
+                return;
+            }
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                serverErrors.incrementAndGet();
+                int status = ThreadLocalRandom.current().nextBoolean() ? 500 : 502;
+                respond(exchange, status, "{\"message\": \"Internal Server Error\", \"code\": 0}");
+                return;
+            }
+
+            accepted.incrementAndGet();
+            respond(exchange, 200, String.format("{\"id\": \"%d\", \"channel_id\": \"%s\", \"type\": 0}",
+                    nextMessageId.incrementAndGet(), channelId));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Fixed window counter, which is close enough to how Discord reports its buckets
+    private static class Bucket {
+        private final int limit;
+        private final long windowMillis;
+        private long windowStart;
+        private int used;
+
+        Bucket(int limit, long windowMillis) {
+            this.limit = limit;
+            this.windowMillis = windowMillis;
+        }
+
+        synchronized Result acquire(long now) {
+            if (now - windowStart >= windowMillis) {
+                windowStart = now;
+                used = 0;
+            }
+            long resetAfter = windowStart + windowMillis - now;
+            if (used >= limit) {
+                return new Result(false, 0, resetAfter);
+            }
+            used++;
+            return new Result(true, limit - used, resetAfter);
+        }
+
+        record Result(boolean allowed, int remaining, long resetAfterMillis) {
+        }
+    }
+}
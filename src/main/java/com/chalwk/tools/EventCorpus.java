@@ -0,0 +1,195 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.tools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Generates event lines in the format the SAPP script writes, for benchmarks and load tools
+public class EventCorpus {
+
+    // Rough share of each event type on a busy public server
+    public static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+    private static final String[] NAMES = {
+            "Chalwk", "xX_Sniper_Xx", "Noob|Slayer", "Tiamat", "ÇhïëfMäster", "[TEAM] Ranger", "wolf", "Banshee",
+            "ReDeMpTiOn", "Player 12", "少年", "Plasma\\Grenade", "Zeus", "Legend", "Kill|Joy", "ACE", "Neo\\"
+    };
+    private static final String[] MAPS = {
+            "bloodgulch", "ratrace", "sidewinder", "damnation", "hangemhigh", "carousel", "dangercanyon", "icefields"
+    };
+    private static final String[] GAMETYPES = {"CTF", "Slayer", "Race", "King", "Oddball"};
+    private static final String[] CHAT = {
+            "gg", "lol", "nice shot!", "who is camping the rockets?", "red team pls defend the flag",
+            "anyone up for a 2v2 after this | on sidewinder", "brb", "that was a lag kill\\nno way",
+            "the warthog spawn on this map is broken", "wp everyone, see you next round :)"
+    };
+    private static final String[] COMMANDS = {"/stats", "/lead", "/afk", "/k 3", "/mute 5 10", "/info", "/rank"};
+
+    static {
+        DEFAULT_MIX.put("event_death", 36);
+        DEFAULT_MIX.put("event_chat", 18);
+        DEFAULT_MIX.put("event_spawn", 16);
+        DEFAULT_MIX.put("event_score", 8);
+        DEFAULT_MIX.put("event_join", 5);
+        DEFAULT_MIX.put("event_leave", 5);
+        DEFAULT_MIX.put("event_command", 5);
+        DEFAULT_MIX.put("event_team_switch", 3);
+        DEFAULT_MIX.put("event_start", 1);
+        DEFAULT_MIX.put("event_end", 1);
+        DEFAULT_MIX.put("event_login", 1);
+        DEFAULT_MIX.put("event_snap", 1);
+    }
+
+    private final Random random;
+    private final String[] types;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private int redScore;
+    private int blueScore;
+
+    public EventCorpus(long seed) {
+        this(seed, DEFAULT_MIX);
+    }
+
+    public EventCorpus(long seed, Map<String, Integer> mix) {
+        this.random = new Random(seed);
+        this.types = new String[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            total += Math.max(0, entry.getValue());
+            types[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Event mix has no positive weights");
+        }
+        this.totalWeight = total;
+    }
+
+    // Parses "event_death=40,event_chat=20" into a mix; unknown types are rejected
+    public static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2 || !DEFAULT_MIX.containsKey(pair[0].trim())) {
+                throw new IllegalArgumentException("Invalid event mix entry: " + part);
+            }
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("|", "\\|")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r");
+    }
+
+    public List<String> lines(int count, long firstTimestamp) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Several events usually share the same whole-second timestamp
+            lines.add(nextLine(firstTimestamp + i / 8));
+        }
+        return lines;
+    }
+
+    public String nextLine(long timestamp) {
+        int pick = random.nextInt(totalWeight);
+        String type = types[types.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                type = types[i];
+                break;
+            }
+        }
+        return line(type, timestamp);
+    }
+
+    private String line(String type, long timestamp) {
+        StringBuilder line = new StringBuilder(96).append(type);
+        switch (type) {
+            case "event_start", "event_end", "event_map_reset" -> {
+                redScore = 0;
+                blueScore = 0;
+                append(line, "timestamp", timestamp);
+                append(line, "map", pick(MAPS));
+                append(line, "gt", pick(GAMETYPES));
+                append(line, "ffa", random.nextBoolean() ? "true" : "false");
+            }
+            case "event_join", "event_leave" -> {
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+                append(line, "id", 1 + random.nextInt(16));
+                append(line, "total", 1 + random.nextInt(16));
+            }
+            case "event_spawn", "event_team_switch" -> {
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+                append(line, "team", random.nextBoolean() ? "red" : "blue");
+            }
+            case "event_login" -> {
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+                append(line, "lvl", 1 + random.nextInt(4));
+            }
+            case "event_snap" -> {
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+            }
+            case "event_chat" -> {
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+                append(line, "msg", pick(CHAT));
+            }
+            case "event_command" -> {
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+                append(line, "cmd", pick(COMMANDS));
+            }
+            case "event_score" -> {
+                boolean red = random.nextBoolean();
+                if (red) redScore++;
+                else blueScore++;
+                append(line, "subtype", 1 + random.nextInt(5));
+                append(line, "timestamp", timestamp);
+                append(line, "name", pick(NAMES));
+                append(line, "team", red ? "red" : "blue");
+                append(line, "score", 1 + random.nextInt(10));
+                append(line, "redScore", redScore);
+                append(line, "blueScore", blueScore);
+                append(line, "totalTeamLaps", red ? redScore : blueScore);
+                append(line, "scorelimit", 3);
+            }
+            case "event_death" -> {
+                append(line, "subtype", 1 + random.nextInt(10));
+                append(line, "timestamp", timestamp);
+                append(line, "killerName", pick(NAMES));
+                append(line, "victimName", pick(NAMES));
+            }
+            default -> append(line, "timestamp", timestamp);
+        }
+        return line.toString();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void append(StringBuilder line, String key, Object value) {
+        line.append('|').append(key).append('=').append(escape(String.valueOf(value)));
+    }
+}
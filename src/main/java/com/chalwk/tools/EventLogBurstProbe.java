@@ -0,0 +1,114 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.tools;
+
+import com.chalwk.gui.EventLogPanel;
+import com.chalwk.model.RawEvent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Pushes a synthetic burst of events into an EventLogPanel and measures how long the EDT takes to pick up work.
+ * Usage: java -cp SAPPDiscordBot.jar com.chalwk.tools.EventLogBurstProbe [eventsPerSecond] [seconds]
+ */
+public class EventLogBurstProbe {
+
+    private static final int PROBE_INTERVAL_MS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int eventsPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        EventLogPanel[] holder = new EventLogPanel[1];
+        JFrame[] frame = new JFrame[1];
+        SwingUtilities.invokeAndWait(() -> {
+            holder[0] = new EventLogPanel(10000);
+            if (!GraphicsEnvironment.isHeadless()) {
+                frame[0] = new JFrame("Event Log Burst Probe");
+                frame[0].add(holder[0]);
+                frame[0].setSize(900, 600);
+                frame[0].setVisible(true);
+            }
+        });
+        EventLogPanel panel = holder[0];
+
+        int probeCount = seconds * 1000 / PROBE_INTERVAL_MS;
+        long[] edtLatencies = new long[probeCount];
+        AtomicInteger probes = new AtomicInteger();
+        AtomicInteger produced = new AtomicInteger();
+
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        int perMillisecond = Math.max(1, eventsPerSecond / 1000);
+        executor.scheduleAtFixedRate(() -> {
+            for (int i = 0; i < perMillisecond; i++) {
+                int n = produced.incrementAndGet();
+                panel.addEvent(syntheticEvent(n), "server" + (n % 8), "Processed");
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(() -> {
+            long posted = System.nanoTime();
+            SwingUtilities.invokeLater(() -> {
+                int index = probes.getAndIncrement();
+                if (index < edtLatencies.length) {
+                    edtLatencies[index] = System.nanoTime() - posted;
+                }
+            });
+        }, 0, PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(seconds * 1000L);
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        Thread.sleep(500);
+
+        int samples = Math.min(probes.get(), edtLatencies.length);
+        long[] sorted = Arrays.copyOf(edtLatencies, samples);
+        Arrays.sort(sorted);
+
+        System.out.printf("Produced %d events in %d s (%d/s target)%n", produced.get(), seconds, eventsPerSecond);
+        System.out.printf("Event log: %s%n", panel.getDrainStats());
+        if (samples > 0) {
+            System.out.printf("EDT queue latency over %d probes: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    samples, percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[samples - 1] / 1_000_000.0);
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            if (frame[0] != null) frame[0].dispose();
+        });
+        System.exit(0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)));
+        return sorted[index] / 1_000_000.0;
+    }
+
+    private static RawEvent syntheticEvent(int n) {
+        RawEvent event = new RawEvent();
+        Map<String, Object> data = new HashMap<>();
+        if (n % 3 == 0) {
+            event.setEvent_type("event_chat");
+            data.put("name", "Player" + (n % 16));
+            data.put("msg", "message " + n);
+        } else {
+            event.setEvent_type("event_death");
+            event.setSubtype(String.valueOf(1 + n % 10));
+            data.put("victimName", "Player" + (n % 16));
+            data.put("killerName", "Player" + ((n + 5) % 16));
+        }
+        event.setData(data);
+        event.setTimestamp(System.currentTimeMillis() / 1000);
+        return event;
+    }
+}
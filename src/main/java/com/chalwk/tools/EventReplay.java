@@ -0,0 +1,200 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.tools;
+
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.DiscordBot;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.EventLineParser;
+import com.chalwk.metrics.LatencyHistogram;
+import com.chalwk.metrics.LatencyTracker;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.model.RawEvent;
+import com.chalwk.output.OutputSink;
+import com.chalwk.output.RecordingSink;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Replays captured {@code <server>.txt} event files through the same parsing, de-duplication and routing the live
+ * bot uses, so an incident can be reproduced offline.
+ * <p>
+ * Usage: EventReplay [--speed=max|N] [--sink=null|shadow|recording|file|webhook|rest|discord] file-or-directory...
+ * <p>
+ * {@code --speed=1} keeps the original pacing from the {@code timestamp} fields, {@code --speed=10} plays ten times
+ * faster and {@code --speed=max} (the default) sends everything as fast as possible. Events from several files are
+ * merged by timestamp. The chosen sink replaces Discord; routes configured with their own output keep it. Channels
+ * and templates come from sapp_bot_config.json in the working directory.
+ */
+public class EventReplay {
+
+    public static void main(String[] args) throws Exception {
+        double speed = 0;
+        String sinkName = OutputSink.NULL;
+        List<Path> inputs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--speed=")) {
+                String value = arg.substring("--speed=".length());
+                speed = "max".equalsIgnoreCase(value) ? 0 : Double.parseDouble(value.replace("x", ""));
+            } else if (arg.startsWith("--sink=")) {
+                sinkName = arg.substring("--sink=".length());
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            } else {
+                inputs.add(Paths.get(arg));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: EventReplay [--speed=max|N] [--sink=name] file-or-directory...");
+            System.exit(2);
+        }
+
+        ConfigManager configManager = new ConfigManager();
+        // A replay must not take over the running bot's live messages
+        EventProcessor processor = new EventProcessor(configManager, null);
+        DiscordBot discordBot = null;
+        OutputSink sink;
+        if (OutputSink.DISCORD.equals(sinkName)) {
+            discordBot = new DiscordBot(configManager);
+            if (!discordBot.start()) {
+                System.err.println("Could not connect to Discord");
+                System.exit(1);
+            }
+            sink = discordBot;
+        } else if (OutputSink.RECORDING.equals(sinkName)) {
+            sink = new RecordingSink(0);
+            processor.registerSink(OutputSink.RECORDING, sink);
+        } else {
+            sink = processor.getSink(sinkName);
+            if (sink == null) {
+                throw new IllegalArgumentException("Unknown sink: " + sinkName);
+            }
+        }
+
+        List<ReplayEvent> events = new ArrayList<>();
+        for (Path input : inputs) {
+            for (Path file : captureFiles(input)) {
+                load(file, events);
+            }
+        }
+        // Stable, so events sharing a second keep their order within the file
+        events.sort(Comparator.comparingLong(e -> e.event.getTimestamp()));
+        if (events.isEmpty()) {
+            System.out.println("No events to replay");
+            return;
+        }
+
+        System.out.printf("Replaying %d events at %s into the '%s' sink%n",
+                events.size(), speed > 0 ? speed + "x speed" : "maximum speed", sinkName);
+
+        LatencyHistogram processing = new LatencyHistogram();
+        LatencyHistogram scheduleLag = new LatencyHistogram();
+        long firstTimestamp = events.get(0).event.getTimestamp();
+        long startNanos = System.nanoTime();
+
+        for (ReplayEvent replay : events) {
+            if (speed > 0) {
+                long dueNanos = startNanos + (long) ((replay.event.getTimestamp() - firstTimestamp) * 1e9 / speed);
+                long waitNanos = dueNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                } else {
+                    scheduleLag.record(-waitNanos / 1000);
+                }
+            }
+
+            long now = System.nanoTime();
+            replay.event.setReadNanos(now);
+            replay.event.setParsedNanos(now);
+            configManager.getConfig().ensureServerChannels(replay.serverName);
+            processor.processRawEvent(replay.event, sink, replay.serverName);
+            processing.record((System.nanoTime() - now) / 1000);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        // Asynchronous sinks are still sending; wait for them before reading delivery latencies
+        long drainDeadline = System.nanoTime() + 120_000_000_000L;
+        while (Metrics.SEND_QUEUE_DEPTH.sum() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+
+        LatencyTracker.StageHistograms overall = LatencyTracker.global().getOverall();
+        System.out.printf("Replayed %d events in %.2f s (%.0f events/s)%n", events.size(), seconds, events.size() / seconds);
+        System.out.printf("Routed %d, disabled %d, unrouted %d%n",
+                Metrics.EVENTS_ROUTED.sum(), Metrics.EVENTS_DISABLED.sum(), Metrics.EVENTS_UNROUTED.sum());
+        System.out.printf("Processing per event p50/p99/max: %s / %s / %s%n",
+                LatencyTracker.format(processing.getPercentile(50)), LatencyTracker.format(processing.getPercentile(99)),
+                LatencyTracker.format(processing.getMax()));
+        if (overall.pipeline.getCount() > 0) {
+            System.out.printf("Read to delivered p50/p99/max: %s / %s / %s (%d delivered)%n",
+                    LatencyTracker.format(overall.pipeline.getPercentile(50)),
+                    LatencyTracker.format(overall.pipeline.getPercentile(99)),
+                    LatencyTracker.format(overall.pipeline.getMax()), overall.pipeline.getCount());
+        }
+        if (scheduleLag.getCount() > 0) {
+            System.out.printf("%d events ran behind the original pacing (p99 %s)%n",
+                    scheduleLag.getCount(), LatencyTracker.format(scheduleLag.getPercentile(99)));
+        }
+
+        processor.close();
+        if (discordBot != null) {
+            discordBot.stop();
+        }
+        System.exit(0);
+    }
+
+    private static List<Path> captureFiles(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            return List.of(input);
+        }
+        try (Stream<Path> files = Files.list(input)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".txt")).sorted().toList();
+        }
+    }
+
+    // Same parsing and duplicate detection as FileWatcher; the server name comes from the file name
+    private static void load(Path file, List<ReplayEvent> events) throws IOException {
+        String serverName = file.getFileName().toString().replace(".txt", "");
+        Set<String> seen = new HashSet<>();
+        int lineNumber = 0;
+        int loaded = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) continue;
+
+                try {
+                    RawEvent event = EventLineParser.parseEventLine(line);
+                    if (event != null && seen.add(EventLineParser.generateEventHash(event))) {
+                        events.add(new ReplayEvent(serverName, event));
+                        loaded++;
+                    }
+                } catch (Exception e) {
+                    System.err.printf("Skipping unparseable line %d in %s: %s%n", lineNumber, file, line);
+                }
+            }
+        }
+        System.out.printf("Loaded %d events for server '%s' from %s%n", loaded, serverName, file);
+    }
+
+    private record ReplayEvent(String serverName, RawEvent event) {
+    }
+}
@@ -0,0 +1,320 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.tools;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.FileWatcher;
+import com.chalwk.metrics.LatencyHistogram;
+import com.chalwk.metrics.LatencyTracker;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.model.RawEvent;
+import com.chalwk.net.SocketListener;
+import com.chalwk.output.RecordingSink;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates several game servers appending event lines to the watch directory and drives them through the real
+ * FileWatcher and EventProcessor into a recording sink instead of Discord.
+ * <p>
+ * Usage: LoadGenerator [--servers=4] [--rate=50] [--duration=60] [--poll=1000] [--min-poll=ms] [--max-poll=ms]
+ * [--report=5] [--dir=path] [--mix=event_death=40,event_chat=20,...] [--max-lag-ms=5000] [--transport=file|udp|tcp]
+ * [--port=9470]
+ * <p>
+ * {@code --poll} alone checks every file at that fixed interval; {@code --min-poll} and {@code --max-poll} set the
+ * range the watcher adapts each file's interval within.
+ * <p>
+ * The rate is events per second per server. With {@code udp} every event is its own datagram and with {@code tcp}
+ * each server keeps one connection, both with an {@code @server-N} header, instead of appending to files. Each line carries a {@code gen} field with the time it was written, so
+ * the reported latency covers the whole path from the game writing a line to the message being handed to Discord.
+ */
+public class LoadGenerator {
+
+    private static final int WRITE_TICK_MILLIS = 100;
+
+    private final int servers;
+    private final double ratePerServer;
+    private final Path directory;
+    private final EventCorpus[] corpora;
+    private final double[] carry;
+    private final AtomicLong linesWritten = new AtomicLong();
+    private final String transport;
+    private final InetSocketAddress socketAddress;
+    private DatagramChannel udp;
+    private SocketChannel[] tcp;
+
+    LoadGenerator(int servers, double ratePerServer, Path directory, Map<String, Integer> mix, String transport,
+                  InetSocketAddress socketAddress) {
+        this.servers = servers;
+        this.ratePerServer = ratePerServer;
+        this.directory = directory;
+        this.transport = transport;
+        this.socketAddress = socketAddress;
+        this.corpora = new EventCorpus[servers];
+        this.carry = new double[servers];
+        for (int i = 0; i < servers; i++) {
+            corpora[i] = new EventCorpus(1000 + i, mix);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int servers = 4;
+        double rate = 50;
+        int durationSeconds = 60;
+        int pollMillis = 1000;
+        int minPollMillis = 0;
+        int maxPollMillis = 0;
+        int reportSeconds = 5;
+        long maxLagMillis = 5000;
+        Path directory = null;
+        Map<String, Integer> mix = EventCorpus.DEFAULT_MIX;
+        String transport = "file";
+        int port = 9470;
+
+        for (String arg : args) {
+            if (arg.startsWith("--servers=")) servers = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--rate=")) rate = Double.parseDouble(value(arg));
+            else if (arg.startsWith("--duration=")) durationSeconds = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--poll=")) pollMillis = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--min-poll=")) minPollMillis = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--max-poll=")) maxPollMillis = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--report=")) reportSeconds = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--max-lag-ms=")) maxLagMillis = Long.parseLong(value(arg));
+            else if (arg.startsWith("--dir=")) directory = Paths.get(value(arg));
+            else if (arg.startsWith("--mix=")) mix = EventCorpus.parseMix(value(arg));
+            else if (arg.startsWith("--transport=")) transport = value(arg);
+            else if (arg.startsWith("--port=")) port = Integer.parseInt(value(arg));
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        if (directory == null) {
+            directory = Files.createTempDirectory("sapp-load");
+        } else {
+            Files.createDirectories(directory);
+        }
+
+        ConfigManager configManager = new ConfigManager(new AppConfig());
+        AppConfig config = configManager.getConfig();
+        config.getWatchRoots().clear();
+        // Every event has to be delivered to be measured, so nothing may be folded into a digest or a live message
+        config.setCatchUpEnabled(false);
+        config.getEventConfigs().values().forEach(eventConfig -> eventConfig.setLiveMessage(false));
+        config.setWatchDirectory(directory.toString());
+        config.setPollInterval(pollMillis);
+        config.setMinPollInterval(minPollMillis > 0 ? minPollMillis : pollMillis);
+        config.setMaxPollInterval(maxPollMillis > 0 ? maxPollMillis : pollMillis);
+        config.setShadowMode(false);
+        config.getChannels().put("GENERAL", "100000000000000001");
+        config.getChannels().put("CHAT", "100000000000000002");
+        config.getChannels().put("COMMAND", "100000000000000003");
+        config.setSocketBindAddress("127.0.0.1");
+        config.setSocketPort(port);
+
+        RecordingSink sink = new RecordingSink(0);
+        WriteLatencyRecorder recorder = new WriteLatencyRecorder();
+        EventProcessor processor = new EventProcessor(configManager);
+        FileWatcher watcher = new FileWatcher(configManager, sink, processor);
+        watcher.setEventListener(recorder);
+        watcher.startWatching();
+
+        SocketListener socketListener = null;
+        if (!"file".equals(transport)) {
+            socketListener = new SocketListener(configManager, sink, processor);
+            socketListener.setEventListener(recorder);
+            if (!socketListener.startListening()) {
+                System.exit(1);
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator(servers, rate, directory, mix, transport,
+                new InetSocketAddress("127.0.0.1", port));
+        generator.connect();
+        ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "load-writer"));
+        writer.scheduleAtFixedRate(generator::writeTick, 0, WRITE_TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        System.out.printf("Writing %.1f events/s to each of %d servers over %s for %d s (file checks every %d-%d ms)%n",
+                rate, servers, "file".equals(transport) ? directory : transport + " port " + port, durationSeconds,
+                config.getMinPollInterval(), config.getMaxPollInterval());
+        System.out.printf("%8s %10s %10s %10s %10s %10s %10s %10s%n",
+                "time(s)", "written/s", "handled/s", "sent(tot)", "p50", "p99", "max", "heap(MB)");
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long startHeap = memory.getHeapMemoryUsage().getUsed();
+        long lastWritten = 0;
+        long lastHandled = 0;
+        long worstP99 = 0;
+        long peakHeap = 0;
+
+        for (int elapsed = reportSeconds; elapsed <= durationSeconds; elapsed += reportSeconds) {
+            Thread.sleep(reportSeconds * 1000L);
+
+            long written = generator.linesWritten.get();
+            long handled = recorder.handled.get();
+            LatencyHistogram interval = recorder.swapInterval();
+            long heapUsed = memory.getHeapMemoryUsage().getUsed();
+            peakHeap = Math.max(peakHeap, heapUsed);
+            worstP99 = Math.max(worstP99, interval.getPercentile(99));
+
+            System.out.printf("%8d %10.1f %10.1f %10d %10s %10s %10s %10d%n",
+                    elapsed,
+                    (written - lastWritten) / (double) reportSeconds,
+                    (handled - lastHandled) / (double) reportSeconds,
+                    sink.getCount(),
+                    LatencyTracker.format(interval.getPercentile(50)),
+                    LatencyTracker.format(interval.getPercentile(99)),
+                    LatencyTracker.format(interval.getMax()),
+                    heapUsed / (1024 * 1024));
+
+            lastWritten = written;
+            lastHandled = handled;
+        }
+
+        writer.shutdownNow();
+        // Give the watcher a final poll to drain what was written last
+        Thread.sleep(Math.max(pollMillis, config.getMaxPollInterval()) * 2L);
+        watcher.stopWatching();
+        if (socketListener != null) {
+            socketListener.stopListening();
+        }
+
+        System.gc();
+        long retainedHeap = memory.getHeapMemoryUsage().getUsed();
+        LatencyTracker.StageHistograms overall = LatencyTracker.global().getOverall();
+
+        System.out.println();
+        System.out.printf("Lines written:        %d (%.1f/s)%n", generator.linesWritten.get(),
+                generator.linesWritten.get() / (double) durationSeconds);
+        System.out.printf("Events handled:       %d (%.1f/s), sent %d, disabled %d, skipped unparsed %d, unrouted %d%n",
+                recorder.handled.get(), recorder.handled.get() / (double) durationSeconds, sink.getCount(),
+                Metrics.EVENTS_DISABLED.sum(), Metrics.LINES_SKIPPED.sum(), Metrics.EVENTS_UNROUTED.sum());
+        System.out.printf("Write to sink p50/p99/max over run: %s / %s / %s%n",
+                LatencyTracker.format(recorder.total.getPercentile(50)),
+                LatencyTracker.format(recorder.total.getPercentile(99)),
+                LatencyTracker.format(recorder.total.getMax()));
+        System.out.printf("Read to sink p50/p99 over run:      %s / %s%n",
+                LatencyTracker.format(overall.pipeline.getPercentile(50)),
+                LatencyTracker.format(overall.pipeline.getPercentile(99)));
+        System.out.printf("Heap: start %d MB, peak sampled %d MB, retained after GC %d MB%n",
+                startHeap / (1024 * 1024), peakHeap / (1024 * 1024), retainedHeap / (1024 * 1024));
+
+        boolean sustained = worstP99 <= maxLagMillis * 1000;
+        System.out.println(sustained
+                ? "Sustained: worst interval p99 stayed within " + maxLagMillis + " ms"
+                : "NOT sustained: worst interval p99 " + LatencyTracker.format(worstP99) + " exceeded " + maxLagMillis + " ms");
+        System.exit(sustained ? 0 : 1);
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private void connect() throws IOException {
+        switch (transport) {
+            case "file" -> {
+            }
+            case "udp" -> udp = DatagramChannel.open().connect(socketAddress);
+            case "tcp" -> {
+                tcp = new SocketChannel[servers];
+                for (int i = 0; i < servers; i++) {
+                    tcp[i] = SocketChannel.open(socketAddress);
+                    write(tcp[i], "@server-" + (i + 1) + "\n");
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+    }
+
+    private static void write(SocketChannel channel, String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private void writeTick() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < servers; i++) {
+            carry[i] += ratePerServer * WRITE_TICK_MILLIS / 1000.0;
+            int count = (int) carry[i];
+            if (count == 0) continue;
+            carry[i] -= count;
+
+            try {
+                if (udp != null) {
+                    String header = "@server-" + (i + 1) + "\n";
+                    for (int n = 0; n < count; n++) {
+                        String line = header + corpora[i].nextLine(now / 1000) + "|gen=" + System.nanoTime();
+                        udp.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+                    }
+                    linesWritten.addAndGet(count);
+                    continue;
+                }
+
+                StringBuilder batch = new StringBuilder(count * 128);
+                for (int n = 0; n < count; n++) {
+                    batch.append(corpora[i].nextLine(now / 1000))
+                            .append("|gen=").append(System.nanoTime())
+                            .append('\n');
+                }
+
+                if (tcp != null) {
+                    write(tcp[i], batch.toString());
+                } else {
+                    // One append per tick so the watcher never sees half of a batch
+                    Files.write(directory.resolve("server-" + (i + 1) + ".txt"),
+                            batch.toString().getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                linesWritten.addAndGet(count);
+            } catch (IOException e) {
+                System.err.println("Failed to write events for server-" + (i + 1) + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Measures from the moment a line was written until the watcher has handed it to the sink
+    private static class WriteLatencyRecorder implements FileWatcher.EventListener {
+        final AtomicLong handled = new AtomicLong();
+        final LatencyHistogram total = new LatencyHistogram();
+        private volatile LatencyHistogram interval = new LatencyHistogram();
+
+        LatencyHistogram swapInterval() {
+            LatencyHistogram previous = interval;
+            interval = new LatencyHistogram();
+            return previous;
+        }
+
+        @Override
+        public void onEventProcessed(RawEvent event, String serverName) {
+            handled.incrementAndGet();
+            Object gen = event.getData().get("gen");
+            if (gen == null) return;
+
+            long micros = (System.nanoTime() - Long.parseLong(gen.toString())) / 1000;
+            total.record(micros);
+            interval.record(micros);
+        }
+    }
+}
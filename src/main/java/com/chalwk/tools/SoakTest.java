@@ -0,0 +1,278 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.tools;
+
+import com.chalwk.config.AppConfig;
+import com.chalwk.config.ConfigManager;
+import com.chalwk.discord.EventProcessor;
+import com.chalwk.file.FileWatcher;
+import com.chalwk.gui.EventLogPanel;
+import com.chalwk.metrics.Metrics;
+import com.chalwk.output.RecordingSink;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running leak check: pushes millions of synthetic events through the real FileWatcher, EventProcessor and
+ * event log into a bounded recording sink, and fails when the pipeline allocates too much per event or when the heap
+ * retained after GC keeps growing with the number of events.
+ * <p>
+ * Usage: SoakTest [--events=2000000] [--servers=4] [--batch=4000] [--checkpoints=10] [--alloc-budget=8192]
+ * [--max-retained-per-event=4.0] [--log-capacity=10000] [--dir=path]
+ * <p>
+ * Allocation is read from the watcher thread with {@code ThreadMXBean.getThreadAllocatedBytes}, so it covers reading,
+ * parsing, de-duplication, templating and the sink, but not the Swing thread. Retained heap is sampled after GC at
+ * each checkpoint; the first checkpoint is warm-up and the rest are fitted to a line whose slope, in retained bytes
+ * per event, must stay under the limit. Event files are truncated once they pass a few MB, as the game would rotate
+ * them, so the test exercises the watcher rather than the disk.
+ */
+public class SoakTest {
+
+    private static final long TRUNCATE_AT_BYTES = 4 * 1024 * 1024;
+    private static final long STALL_TIMEOUT_MILLIS = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        long totalEvents = 2_000_000;
+        int servers = 4;
+        int batch = 4000;
+        int checkpoints = 10;
+        long allocBudget = 8192;
+        double maxRetainedPerEvent = 4.0;
+        int logCapacity = 10_000;
+        Path directory = null;
+
+        for (String arg : args) {
+            if (arg.startsWith("--events=")) totalEvents = Long.parseLong(value(arg));
+            else if (arg.startsWith("--servers=")) servers = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--batch=")) batch = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--checkpoints=")) checkpoints = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--alloc-budget=")) allocBudget = Long.parseLong(value(arg));
+            else if (arg.startsWith("--max-retained-per-event=")) maxRetainedPerEvent = Double.parseDouble(value(arg));
+            else if (arg.startsWith("--log-capacity=")) logCapacity = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--dir=")) directory = Paths.get(value(arg));
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+        if (checkpoints < 3) {
+            throw new IllegalArgumentException("At least 3 checkpoints are needed to fit a growth rate");
+        }
+
+        if (directory == null) {
+            directory = Files.createTempDirectory("sapp-soak");
+        } else {
+            Files.createDirectories(directory);
+        }
+
+        ConfigManager configManager = new ConfigManager(new AppConfig());
+        AppConfig config = configManager.getConfig();
+        config.getWatchRoots().clear();
+        // Every event has to be delivered to be measured, so nothing may be folded into a digest or a live message
+        config.setCatchUpEnabled(false);
+        config.getEventConfigs().values().forEach(eventConfig -> eventConfig.setLiveMessage(false));
+        config.setWatchDirectory(directory.toString());
+        config.setPollInterval(20);
+        config.setShadowMode(false);
+        config.getChannels().put("GENERAL", "100000000000000001");
+        config.getChannels().put("CHAT", "100000000000000002");
+        config.getChannels().put("COMMAND", "100000000000000003");
+
+        int capacity = logCapacity;
+        EventLogPanel[] holder = new EventLogPanel[1];
+        SwingUtilities.invokeAndWait(() -> holder[0] = new EventLogPanel(capacity));
+        EventLogPanel eventLog = holder[0];
+
+        AtomicLong handled = new AtomicLong();
+        RecordingSink sink = new RecordingSink(1000);
+        FileWatcher watcher = new FileWatcher(configManager, sink, new EventProcessor(configManager));
+        watcher.setEventListener((event, serverName) -> {
+            handled.incrementAndGet();
+            eventLog.addEvent(event, serverName, "Processed");
+        });
+        watcher.startWatching();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long watcherThreadId = findThread(FileWatcher.THREAD_NAME).getId();
+
+        EventCorpus[] corpora = new EventCorpus[servers];
+        for (int i = 0; i < servers; i++) {
+            corpora[i] = new EventCorpus(2000 + i);
+        }
+
+        System.out.printf("Soaking %d events across %d servers in %s (%d checkpoints)%n",
+                totalEvents, servers, directory, checkpoints);
+        System.out.printf("%12s %14s %14s %12s%n", "events", "alloc B/event", "retained(MB)", "dedup set");
+
+        long baseline = consumedLines();
+        long written = 0;
+        long timestamp = 1_700_000_000L;
+        long checkpointEvery = totalEvents / checkpoints;
+        long nextCheckpoint = checkpointEvery;
+        long lastAllocated = threads.getThreadAllocatedBytes(watcherThreadId);
+        long lastCheckpointEvents = 0;
+        long worstAllocPerEvent = 0;
+        int checkpoint = 0;
+        List<double[]> retainedSamples = new ArrayList<>();
+        boolean stalled = false;
+
+        while (written < totalEvents) {
+            int perServer = (int) Math.max(1, Math.min(batch, totalEvents - written) / servers);
+            for (int i = 0; i < servers; i++) {
+                StringBuilder lines = new StringBuilder(perServer * 128);
+                for (int n = 0; n < perServer; n++) {
+                    lines.append(corpora[i].nextLine(timestamp++)).append('\n');
+                }
+                Files.write(directory.resolve("server-" + (i + 1) + ".txt"),
+                        lines.toString().getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                written += perServer;
+            }
+
+            if (!awaitConsumed(baseline + written)) {
+                stalled = true;
+                break;
+            }
+            truncateLargeFiles(directory, servers);
+
+            if (written < nextCheckpoint && written < totalEvents) continue;
+            nextCheckpoint += checkpointEvery;
+
+            awaitLogDrained(eventLog, handled.get());
+            long allocated = threads.getThreadAllocatedBytes(watcherThreadId);
+            long allocPerEvent = (allocated - lastAllocated) / Math.max(1, written - lastCheckpointEvents);
+            lastAllocated = allocated;
+            lastCheckpointEvents = written;
+            long retained = retainedHeap(memory);
+            boolean warmUp = checkpoint++ == 0;
+
+            System.out.printf("%12d %14d %14.1f %12d%s%n", written, allocPerEvent, retained / (1024.0 * 1024.0),
+                    Metrics.gaugeValue("sapp_dedup_set_size"), warmUp ? "  (warm-up)" : "");
+
+            if (!warmUp) {
+                worstAllocPerEvent = Math.max(worstAllocPerEvent, allocPerEvent);
+                retainedSamples.add(new double[]{written, retained});
+            }
+        }
+
+        watcher.stopWatching();
+        deleteEventFiles(directory, servers);
+
+        double slope = slope(retainedSamples);
+        System.out.println();
+        System.out.printf("Events handled:           %d (sent %d, disabled %d, skipped unparsed %d, duplicates %d, "
+                        + "parse failures %d)%n", handled.get(), sink.getCount(), Metrics.EVENTS_DISABLED.sum(),
+                Metrics.LINES_SKIPPED.sum(), Metrics.DEDUP_HITS.sum(), Metrics.PARSE_FAILURES.sum());
+        System.out.printf("Worst allocation:         %d bytes/event (budget %d)%n", worstAllocPerEvent, allocBudget);
+        System.out.printf("Retained heap growth:     %.3f bytes/event (limit %.3f), %.1f MB over the run%n",
+                slope, maxRetainedPerEvent, slope * written / (1024 * 1024));
+
+        List<String> failures = new ArrayList<>();
+        if (stalled) {
+            failures.add("pipeline stopped consuming events after " + written + " lines");
+        }
+        if (worstAllocPerEvent > allocBudget) {
+            failures.add("allocation of " + worstAllocPerEvent + " bytes/event exceeds the budget of " + allocBudget);
+        }
+        if (slope > maxRetainedPerEvent) {
+            failures.add(String.format("retained heap grows by %.3f bytes/event", slope));
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("PASSED");
+            System.exit(0);
+        }
+        for (String failure : failures) {
+            System.out.println("FAILED: " + failure);
+        }
+        System.exit(1);
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    // Every written line is either parsed, duplicates included, skipped as disabled or counted as a parse failure
+    private static long consumedLines() {
+        return Metrics.LINES_PARSED.sum() + Metrics.LINES_SKIPPED.sum() + Metrics.PARSE_FAILURES.sum();
+    }
+
+    private static boolean awaitConsumed(long target) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + STALL_TIMEOUT_MILLIS;
+        while (consumedLines() < target) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private static void awaitLogDrained(EventLogPanel eventLog, long handled) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + STALL_TIMEOUT_MILLIS;
+        while (eventLog.getDrainStats().getEvents() < handled && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static void truncateLargeFiles(Path directory, int servers) throws IOException {
+        for (int i = 0; i < servers; i++) {
+            Path file = directory.resolve("server-" + (i + 1) + ".txt");
+            if (Files.size(file) > TRUNCATE_AT_BYTES) {
+                Files.write(file, new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        }
+    }
+
+    private static void deleteEventFiles(Path directory, int servers) throws IOException {
+        for (int i = 0; i < servers; i++) {
+            Files.deleteIfExists(directory.resolve("server-" + (i + 1) + ".txt"));
+        }
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) throws InterruptedException {
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+            lowest = Math.min(lowest, memory.getHeapMemoryUsage().getUsed());
+        }
+        return lowest;
+    }
+
+    // Least-squares slope of retained bytes against events written
+    private static double slope(List<double[]> samples) {
+        int n = samples.size();
+        if (n < 2) return 0;
+
+        double meanX = 0, meanY = 0;
+        for (double[] sample : samples) {
+            meanX += sample[0] / n;
+            meanY += sample[1] / n;
+        }
+        double covariance = 0, variance = 0;
+        for (double[] sample : samples) {
+            covariance += (sample[0] - meanX) * (sample[1] - meanY);
+            variance += (sample[0] - meanX) * (sample[0] - meanX);
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static Thread findThread(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (name.equals(thread.getName())) return thread;
+        }
+        throw new IllegalStateException("Thread not found: " + name);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * SAPPDiscordBot
+ * Copyright (c) 2025-2026. Jericho Crosby (Chalwk)
+ * MIT License
+ */
+
+package com.chalwk.util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public final class ProcessStats {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    private ProcessStats() {
+    }
+
+    public static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    // Resident set size from /proc on Linux, -1 where that is not available
+    public static long residentSetSizeBytes() {
+        if (!Files.isReadable(PROC_STATUS)) return -1;
+
+        try {
+            List<String> lines = Files.readAllLines(PROC_STATUS);
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    String kb = line.substring(6).replace("kB", "").trim();
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+        }
+        return -1;
+    }
+
+    public static String describe() {
+        long rss = residentSetSizeBytes();
+        long heapUsed = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        return String.format("uptime %d ms, RSS %s, heap used %d MB",
+                uptimeMillis(),
+                rss >= 0 ? (rss / (1024 * 1024)) + " MB" : "n/a",
+                heapUsed / (1024 * 1024));
+    }
+}